@@ -0,0 +1,63 @@
+package org.genericsystem.api.core;
+
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A Snapshot whose source knows its size : size() and isEmpty() do not iterate.
+ *
+ * @param <T>
+ *            the type of elements
+ */
+public interface SizedSnapshot<T> extends Snapshot<T> {
+
+	@Override
+	int size();
+
+	@Override
+	default boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns a snapshot iterating the iterators of iteratorSupplier, whose size is given by sizeSupplier.
+	 *
+	 * @param iteratorSupplier
+	 *            the supplier of the iterators
+	 * @param sizeSupplier
+	 *            the supplier of the size, consistent with the iterators
+	 * @return the sized snapshot
+	 */
+	static <T> SizedSnapshot<T> of(Supplier<Iterator<T>> iteratorSupplier, IntSupplier sizeSupplier) {
+		return new AbstractSizedSnapshot<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return iteratorSupplier.get();
+			}
+
+			@Override
+			public int size() {
+				return sizeSupplier.getAsInt();
+			}
+		};
+	}
+
+	/**
+	 * Returns a snapshot of the elements of the supplied source transformed by mapper, of the same size : the size is counted in constant
+	 * time when the source is sized.
+	 *
+	 * @param sourceSupplier
+	 *            the supplier of the source, read on each call
+	 * @param mapper
+	 *            the transformation of the elements
+	 * @return the mapped snapshot
+	 */
+	static <S, T> SizedSnapshot<T> map(Supplier<Snapshot<S>> sourceSupplier, Function<S, T> mapper) {
+		return of(() -> sourceSupplier.get().stream().map(mapper).iterator(), () -> sourceSupplier.get().size());
+	}
+
+	public static abstract class AbstractSizedSnapshot<T> extends AbstractSnapshot<T> implements SizedSnapshot<T> {
+	}
+}
@@ -1,5 +1,7 @@
 package org.genericsystem.cache;
 
+import java.util.function.Consumer;
+
 import org.genericsystem.api.core.Snapshot;
 import org.genericsystem.api.exception.ConcurrencyControlException;
 import org.genericsystem.api.exception.ConstraintViolationException;
@@ -17,13 +19,24 @@ public abstract class AbstractContext<T extends AbstractGeneric<T, U, V, W>, U e
 
 	protected void apply(Iterable<T> adds, Iterable<T> removes) throws ConcurrencyControlException, ConstraintViolationException {
 		removes.forEach(this::simpleRemove);
-		adds.forEach(this::simpleAdd);
+		adds.forEach(newAdder());
+	}
+
+	// adds the generics of one apply, in order
+	protected Consumer<T> newAdder() {
+		return this::simpleAdd;
 	}
 
 	protected abstract void simpleAdd(T generic);
 
 	protected abstract boolean simpleRemove(T generic);
 
+	// changes whenever the structure seen through this context changes
+	protected abstract long getRevision();
+
+	// changes whenever the system map seen through this context changes
+	protected abstract long getSystemPropertiesRevision();
+
 	abstract Snapshot<T> getInheritings(T generic);
 
 	abstract Snapshot<T> getInstances(T generic);
@@ -2,12 +2,11 @@ package org.genericsystem.cache;
 
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
+import org.genericsystem.api.core.SizedSnapshot;
 import org.genericsystem.api.core.Snapshot;
 import org.genericsystem.api.exception.AliveConstraintViolationException;
 import org.genericsystem.api.exception.ConstraintViolationException;
@@ -15,6 +14,9 @@ import org.genericsystem.api.exception.NotFoundException;
 import org.genericsystem.api.exception.RollbackException;
 import org.genericsystem.kernel.AbstractVertex;
 import org.genericsystem.kernel.Dependencies;
+import org.genericsystem.kernel.DependenciesMap;
+import org.genericsystem.kernel.DependenciesMapImpl;
+import org.genericsystem.kernel.RootCache;
 import org.genericsystem.kernel.Statics;
 import org.genericsystem.kernel.systemproperty.constraints.Constraint.CheckingType;
 
@@ -24,13 +26,24 @@ public class Cache<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U
 
 	private transient Map<T, Dependencies<T>> inheritingsDependenciesMap;
 	private transient Map<T, Dependencies<T>> instancesDependenciesMap;
-	private transient Map<T, Map<T, Dependencies<T>>> metaComponentsDependenciesMap;
-	private transient Map<T, Map<T, Dependencies<T>>> superComponentsDependenciesMap;
+	private transient Map<T, DependenciesMap<T>> metaComponentsDependenciesMap;
+	private transient Map<T, DependenciesMap<T>> superComponentsDependenciesMap;
 
 	protected Set<T> adds = new LinkedHashSet<>();
 	protected Set<T> removes = new LinkedHashSet<>();
 
+	// the results computed from the structure seen by this cache, with the revisions of the sub context they were computed on
+	private transient final RootCache<T> rootCache = new RootCache<>();
+	private transient AbstractContext<T, U, V, W> revisedSubContext;
+	private transient long subRevision;
+	private transient long subSystemPropertiesRevision;
+
 	public void clear() {
+		if (adds != null) {
+			rootCache.structuralModification();
+			if (adds.stream().anyMatch(T::isSystemMapDependency) || removes.stream().anyMatch(T::isSystemMapDependency))
+				rootCache.systemPropertiesModification();
+		}
 		inheritingsDependenciesMap = new HashMap<>();
 		instancesDependenciesMap = new HashMap<>();
 		metaComponentsDependenciesMap = new HashMap<>();
@@ -91,6 +104,41 @@ public class Cache<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U
 		removes.forEach(x -> engine.check(CheckingType.CHECK_ON_REMOVE, true, x));
 	}
 
+	/**
+	 * @return the results computed from the structure seen by this cache : they are dropped when this cache plugs or unplugs a generic, or
+	 *         when its sub context changes
+	 */
+	public RootCache<T> getRootCache() {
+		AbstractContext<T, U, V, W> subContext = getSubContext();
+		long revision = subContext.getRevision();
+		long systemPropertiesRevision = subContext.getSystemPropertiesRevision();
+		if (subContext != revisedSubContext || revision != subRevision)
+			rootCache.structuralModification();
+		if (subContext != revisedSubContext || systemPropertiesRevision != subSystemPropertiesRevision)
+			rootCache.systemPropertiesModification();
+		revisedSubContext = subContext;
+		subRevision = revision;
+		subSystemPropertiesRevision = systemPropertiesRevision;
+		return rootCache;
+	}
+
+	@Override
+	protected long getRevision() {
+		return getRootCache().getRevision();
+	}
+
+	@Override
+	protected long getSystemPropertiesRevision() {
+		return getRootCache().getSystemPropertiesRevision();
+	}
+
+	private void structuralModification(T generic) {
+		RootCache<T> rootCache = getRootCache();
+		rootCache.structuralModification();
+		if (generic.isSystemMapDependency())
+			rootCache.systemPropertiesModification();
+	}
+
 	protected void rollbackWithException(Throwable exception) throws RollbackException {
 		clear();
 		throw new RollbackException(exception);
@@ -127,119 +175,116 @@ public class Cache<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U
 		return subContext;
 	}
 
-	private Snapshot<T> getDependencies(Map<T, Dependencies<T>> multiMap, Supplier<Iterator<T>> subIteratorSupplier, T generic) {
-		return () -> {
+	private Snapshot<T> getDependencies(Map<T, Dependencies<T>> multiMap, Supplier<Snapshot<T>> subSnapshotSupplier, T generic) {
+		Supplier<Snapshot<T>> snapshotSupplier = () -> {
 			Dependencies<T> dependencies = multiMap.get(generic);
-			return dependencies == null ? subIteratorSupplier.get() : dependencies.iterator();
+			return dependencies == null ? subSnapshotSupplier.get() : dependencies;
 		};
+		return SizedSnapshot.of(() -> snapshotSupplier.get().iterator(), () -> snapshotSupplier.get().size());
 	}
 
 	@Override
 	Snapshot<T> getInstances(T generic) {
-		return getDependencies(instancesDependenciesMap, () -> subContext.getInstances(generic).iterator(), generic);
+		return getDependencies(instancesDependenciesMap, () -> subContext.getInstances(generic), generic);
 	}
 
 	@Override
 	Snapshot<T> getInheritings(T generic) {
-		return getDependencies(inheritingsDependenciesMap, () -> subContext.getInheritings(generic).iterator(), generic);
+		return getDependencies(inheritingsDependenciesMap, () -> subContext.getInheritings(generic), generic);
 	}
 
-	private T index(Map<T, Dependencies<T>> multiMap, Supplier<Stream<T>> subStreamSupplier, T generic, T dependency) {
+	private T index(Map<T, Dependencies<T>> multiMap, Supplier<Snapshot<T>> subSnapshotSupplier, T generic, T dependency) {
 		Dependencies<T> dependencies = multiMap.get(generic);
 		if (dependencies == null)
-			multiMap.put(generic, dependencies = new CacheDependencies<>(subStreamSupplier));
+			multiMap.put(generic, dependencies = new CacheDependencies<>(subSnapshotSupplier));
 		return dependencies.set(dependency);
 	}
 
-	private boolean unIndex(Map<T, Dependencies<T>> multiMap, Supplier<Stream<T>> subStreamSupplier, T generic, T dependency) {
+	private boolean unIndex(Map<T, Dependencies<T>> multiMap, Supplier<Snapshot<T>> subSnapshotSupplier, T generic, T dependency) {
 		Dependencies<T> dependencies = multiMap.get(generic);
 		if (dependencies == null)
-			multiMap.put(generic, dependencies = new CacheDependencies<>(subStreamSupplier));
+			multiMap.put(generic, dependencies = new CacheDependencies<>(subSnapshotSupplier));
 		return dependencies.remove(dependency);
 	}
 
 	private T indexInstance(T generic, T instance) {
-		return index(instancesDependenciesMap, () -> subContext.getInstances(generic).stream(), generic, instance);
+		return index(instancesDependenciesMap, () -> subContext.getInstances(generic), generic, instance);
 	}
 
 	private T indexInheriting(T generic, T inheriting) {
-		return index(inheritingsDependenciesMap, () -> subContext.getInheritings(generic).stream(), generic, inheriting);
+		return index(inheritingsDependenciesMap, () -> subContext.getInheritings(generic), generic, inheriting);
 	}
 
 	private boolean unIndexInstance(T generic, T instance) {
-		return unIndex(instancesDependenciesMap, () -> subContext.getInstances(generic).stream(), generic, instance);
+		return unIndex(instancesDependenciesMap, () -> subContext.getInstances(generic), generic, instance);
 	}
 
 	private boolean unIndexInheriting(T generic, T inheriting) {
-		return unIndex(inheritingsDependenciesMap, () -> subContext.getInheritings(generic).stream(), generic, inheriting);
+		return unIndex(inheritingsDependenciesMap, () -> subContext.getInheritings(generic), generic, inheriting);
 	}
 
 	Snapshot<T> getComponents(T generic) {
 		return () -> {
-			Map<T, Dependencies<T>> dependencies = metaComponentsDependenciesMap.get(generic);
-			return dependencies == null ? Collections.emptyIterator() : Statics.concat(metaComponentsDependenciesMap.get(generic).entrySet().stream(), x -> x.getValue().stream()).iterator();
+			DependenciesMap<T> dependencies = metaComponentsDependenciesMap.get(generic);
+			return dependencies == null ? Collections.emptyIterator() : Statics.concat(dependencies.stream(), x -> x.getValue().stream()).iterator();
 		};
 	}
 
 	@Override
 	Snapshot<T> getMetaComponents(T generic, T meta) {
-		return getIndex(metaComponentsDependenciesMap, () -> subContext.getMetaComponents(generic, meta).stream(), generic, meta);
+		return getIndex(metaComponentsDependenciesMap, () -> subContext.getMetaComponents(generic, meta), generic, meta);
 	}
 
 	@Override
 	Snapshot<T> getSuperComponents(T generic, T superT) {
-		return getIndex(superComponentsDependenciesMap, () -> subContext.getSuperComponents(generic, superT).stream(), generic, superT);
+		return getIndex(superComponentsDependenciesMap, () -> subContext.getSuperComponents(generic, superT), generic, superT);
 	}
 
 	private T indexByMeta(T generic, T meta, T composite) {
-		return index(metaComponentsDependenciesMap, () -> subContext.getMetaComponents(generic, meta).stream(), generic, meta, composite);
+		return index(metaComponentsDependenciesMap, () -> subContext.getMetaComponents(generic, meta), generic, meta, composite);
 	}
 
 	private T indexBySuper(T generic, T superT, T composite) {
-		return index(superComponentsDependenciesMap, () -> subContext.getSuperComponents(generic, superT).stream(), generic, superT, composite);
+		return index(superComponentsDependenciesMap, () -> subContext.getSuperComponents(generic, superT), generic, superT, composite);
 	}
 
 	private boolean unIndexByMeta(T generic, T meta, T composite) {
-		return unIndex(metaComponentsDependenciesMap, () -> subContext.getMetaComponents(generic, meta).stream(), generic, meta, composite);
+		return unIndex(metaComponentsDependenciesMap, () -> subContext.getMetaComponents(generic, meta), generic, meta, composite);
 	}
 
 	private boolean unIndexBySuper(T generic, T superT, T composite) {
-		return unIndex(superComponentsDependenciesMap, () -> subContext.getSuperComponents(generic, superT).stream(), generic, superT, composite);
+		return unIndex(superComponentsDependenciesMap, () -> subContext.getSuperComponents(generic, superT), generic, superT, composite);
 	}
 
-	private static <T> Snapshot<T> getIndex(Map<T, Map<T, Dependencies<T>>> multiMap, Supplier<Stream<T>> subStreamSupplier, T generic, T index) {
-		return () -> {
-			Map<T, Dependencies<T>> dependencies = multiMap.get(generic);
+	private static <T> Snapshot<T> getIndex(Map<T, DependenciesMap<T>> multiMap, Supplier<Snapshot<T>> subSnapshotSupplier, T generic, T index) {
+		Supplier<Snapshot<T>> snapshotSupplier = () -> {
+			DependenciesMap<T> dependencies = multiMap.get(generic);
 			if (dependencies == null)
-				return subStreamSupplier.get().iterator();
-			Dependencies<T> dependenciesByIndex = dependencies.get(index);
+				return subSnapshotSupplier.get();
+			Dependencies<T> dependenciesByIndex = dependencies.getByIndex(index);
 			if (dependenciesByIndex == null)
-				return subStreamSupplier.get().iterator();
-			return dependenciesByIndex.iterator();
+				return subSnapshotSupplier.get();
+			return dependenciesByIndex;
 		};
+		return SizedSnapshot.of(() -> snapshotSupplier.get().iterator(), () -> snapshotSupplier.get().size());
 	}
 
-	private static <T> T index(Map<T, Map<T, Dependencies<T>>> multiMap, Supplier<Stream<T>> subStreamSupplier, T generic, T index, T composite) {
-		Map<T, Dependencies<T>> dependencies = multiMap.get(generic);
+	private static <T> T index(Map<T, DependenciesMap<T>> multiMap, Supplier<Snapshot<T>> subSnapshotSupplier, T generic, T index, T composite) {
+		DependenciesMap<T> dependencies = multiMap.get(generic);
 		if (dependencies == null)
-			multiMap.put(generic, dependencies = new HashMap<>());
-		Dependencies<T> dependenciesByIndex = dependencies.get(index);
-		if (dependenciesByIndex == null)
-			dependencies.put(index, dependenciesByIndex = new CacheDependencies<>(subStreamSupplier));
-		return dependenciesByIndex.set(composite);
+			multiMap.put(generic, dependencies = new DependenciesMapImpl<>());
+		return dependencies.getOrBuildByIndex(index, () -> new CacheDependencies<>(subSnapshotSupplier)).set(composite);
 	}
 
-	private static <T> boolean unIndex(Map<T, Map<T, Dependencies<T>>> multiMap, Supplier<Stream<T>> subStreamSupplier, T generic, T index, T composite) {
-		Map<T, Dependencies<T>> dependencies = multiMap.get(generic);
+	private static <T> boolean unIndex(Map<T, DependenciesMap<T>> multiMap, Supplier<Snapshot<T>> subSnapshotSupplier, T generic, T index, T composite) {
+		DependenciesMap<T> dependencies = multiMap.get(generic);
 		if (dependencies == null)
-			multiMap.put(generic, dependencies = new HashMap<>());
-		Dependencies<T> dependenciesByIndex = dependencies.get(index);
-		if (dependenciesByIndex == null)
-			dependencies.put(index, dependenciesByIndex = new CacheDependencies<>(subStreamSupplier));
-		return dependenciesByIndex.remove(composite);
+			multiMap.put(generic, dependencies = new DependenciesMapImpl<>());
+		return dependencies.getOrBuildByIndex(index, () -> new CacheDependencies<>(subSnapshotSupplier)).remove(composite);
 	}
 
 	T plug(T generic) {
+		structuralModification(generic);
 		T result = indexInstance(generic.getMeta(), generic);
 		assert result == generic;
 		generic.getSupers().forEach(superGeneric -> indexInheriting(superGeneric, generic));
@@ -250,6 +295,7 @@ public class Cache<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U
 	}
 
 	boolean unplug(T generic) {
+		structuralModification(generic);
 		boolean result = unIndexInstance(generic.getMeta(), generic);
 		if (!result)
 			getEngine().discardWithException(new NotFoundException(generic.info()));
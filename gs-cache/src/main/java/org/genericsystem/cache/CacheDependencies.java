@@ -7,16 +7,26 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.genericsystem.api.core.SizedSnapshot;
+import org.genericsystem.api.core.Snapshot;
 import org.genericsystem.kernel.Dependencies;
 
-public class CacheDependencies<T> implements Dependencies<T> {
+/**
+ * The dependencies of the sub context, plus the inserts and minus the deletes of this cache.
+ *
+ * Deletes are taken from the dependencies of the sub context and inserts are absent from them : the size is the size of the sub context
+ * dependencies plus a delta, and is counted in constant time when the sub context dependencies are sized.
+ *
+ * @param <T>
+ */
+public class CacheDependencies<T> implements Dependencies<T>, SizedSnapshot<T> {
 
 	private final Set<T> inserts = new LinkedHashSet<T>();
 	private final Set<T> deletes = new LinkedHashSet<T>();
-	private final Supplier<Stream<T>> streamSupplier;
+	private final Supplier<Snapshot<T>> snapshotSupplier;
 
-	public CacheDependencies(Supplier<Stream<T>> streamSupplier) {
-		this.streamSupplier = streamSupplier;
+	public CacheDependencies(Supplier<Snapshot<T>> snapshotSupplier) {
+		this.snapshotSupplier = snapshotSupplier;
 	}
 
 	@Override
@@ -31,9 +41,14 @@ public class CacheDependencies<T> implements Dependencies<T> {
 		return true;
 	}
 
+	@Override
+	public int size() {
+		return snapshotSupplier.get().size() - deletes.size() + inserts.size();
+	}
+
 	@Override
 	public Iterator<T> iterator() {
-		return Stream.concat(streamSupplier.get().filter(x -> !deletes.contains(x)), inserts.stream()).iterator();
+		return Stream.concat(snapshotSupplier.get().stream().filter(x -> !deletes.contains(x)), inserts.stream()).iterator();
 		// return new ConcateIterator<T>(new AbstractFilterIterator<T>(iteratorSupplier.get()) {
 		// @Override
 		// public boolean isSelected() {
@@ -2,10 +2,13 @@ package org.genericsystem.cache;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.genericsystem.api.exception.RollbackException;
 import org.genericsystem.impl.SystemCache;
+import org.genericsystem.kernel.BootstrapImage;
 import org.genericsystem.kernel.Statics;
 
 public class Engine extends Generic implements IEngine<Generic, Engine, Vertex, Root> {
@@ -32,6 +35,37 @@ public class Engine extends Generic implements IEngine<Generic, Engine, Vertex,
 		cache.flushAndUnmount();
 	}
 
+	/**
+	 * Builds an engine from the bootstrap image of an engine of the same user classes, without binding them again.
+	 */
+	public Engine(BootstrapImage image) {
+		init(false, null, Collections.emptyList(), image.getRootValue(), Collections.emptyList());
+		root = buildRoot(image.getRootValue());
+		newCache().start();
+		image.adopt((Vertex) root, (clazz, throwExistException, meta, supers, value, composites) -> meta.adoptInstance(throwExistException, supers, value, composites));
+		image.adopt((Generic) this, (clazz, throwExistException, meta, supers, value, composites) -> {
+			Generic generic = getOrBuildT(clazz, throwExistException, meta, supers, value, composites);
+			if (clazz != null)
+				systemCache.put(clazz, generic);
+			return generic;
+		});
+	}
+
+	/**
+	 * @return an image of the vertices flushed in this engine, for engines of the same user classes to adopt
+	 */
+	public BootstrapImage newBootstrapImage() {
+		Cache<Generic, Engine, Vertex, Root> current = cacheLocal.get();
+		newCache().start();
+		try {
+			Map<Generic, Class<?>> classes = new HashMap<>();
+			systemCache.forEach((clazz, generic) -> classes.put(generic, clazz));
+			return BootstrapImage.capture((Generic) this, classes);
+		} finally {
+			cacheLocal.set(current);
+		}
+	}
+
 	private final GenericsCache<Generic> genericsCache = new GenericsCache<>();
 
 	@Override
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.genericsystem.api.exception.RollbackException;
 import org.genericsystem.kernel.AbstractVertex;
+import org.genericsystem.kernel.RootCache;
 
 public interface IEngine<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U, V, W>, V extends AbstractVertex<V, W>, W extends IRoot<V, W>> extends IGeneric<T, U, V, W>, org.genericsystem.impl.IEngine<T, U> {
 
@@ -25,6 +26,12 @@ public interface IEngine<T extends AbstractGeneric<T, U, V, W>, U extends IEngin
 
 	W unwrap();
 
+	// each cache has its own view of the structure
+	@Override
+	default RootCache<T> getRootCache() {
+		return getCurrentCache().getRootCache();
+	}
+
 	@Override
 	default void discardWithException(Throwable exception) throws RollbackException {
 		getCurrentCache().rollbackWithException(exception);
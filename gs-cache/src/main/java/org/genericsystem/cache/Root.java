@@ -3,15 +3,23 @@ package org.genericsystem.cache;
 import java.io.Serializable;
 import java.util.Collections;
 
+import org.genericsystem.kernel.RootCache;
+
 public class Root extends Vertex implements IRoot<Vertex, Root> {
 
 	private final IEngine<?, ?, Vertex, Root> engine;
+	private final RootCache<Vertex> rootCache = new RootCache<>();
 
 	Root(IEngine<?, ?, Vertex, Root> engine, Serializable value) {
 		init(false, null, Collections.emptyList(), value, Collections.emptyList());
 		this.engine = engine;
 	}
 
+	@Override
+	public RootCache<Vertex> getRootCache() {
+		return rootCache;
+	}
+
 	@Override
 	public Root getRoot() {
 		return this;
@@ -1,12 +1,15 @@
 package org.genericsystem.cache;
 
-import java.util.Collections;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.genericsystem.api.core.SizedSnapshot;
 import org.genericsystem.api.core.Snapshot;
+import org.genericsystem.api.core.Snapshot.AbstractSnapshot;
 import org.genericsystem.api.exception.ConcurrencyControlException;
 import org.genericsystem.api.exception.ConstraintViolationException;
 import org.genericsystem.kernel.AbstractVertex;
+import org.genericsystem.kernel.BulkLoader;
 
 public class Transaction<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U, V, W>, V extends AbstractVertex<V, W>, W extends IRoot<V, W>> extends AbstractContext<T, U, V, W> {
 
@@ -25,11 +28,20 @@ public class Transaction<T extends AbstractGeneric<T, U, V, W>, U extends IEngin
 		return vertex != null && vertex.isAlive();
 	}
 
+	@Override
+	protected Consumer<T> newAdder() {
+		BulkLoader<V, W> loader = getEngine().unwrap().newBulkLoader();
+		return generic -> simpleAdd(generic, loader);
+	}
+
 	@Override
 	protected void simpleAdd(T generic) {
-		V vertex = unwrap(generic.getMeta());
-		// TODO null is KK
-		V result = vertex.bindInstance(null, generic.isThrowExistException(), generic.getSupers().stream().map(this::unwrap).collect(Collectors.toList()), generic.getValue(), generic.getComposites().stream().map(this::unwrap).collect(Collectors.toList()));
+		simpleAdd(generic, getEngine().unwrap().newBulkLoader());
+	}
+
+	private void simpleAdd(T generic, BulkLoader<V, W> loader) {
+		// TODO clazz is KK
+		V result = loader.bindInstance(generic.isThrowExistException(), unwrap(generic.getMeta()), generic.getSupers().stream().map(this::unwrap).collect(Collectors.toList()), generic.getValue(), generic.getComposites().stream().map(this::unwrap).collect(Collectors.toList()));
 		vertices.put(generic, result);
 	}
 
@@ -46,38 +58,48 @@ public class Transaction<T extends AbstractGeneric<T, U, V, W>, U extends IEngin
 		return engine;
 	}
 
+	@Override
+	protected long getRevision() {
+		return getEngine().unwrap().getRootCache().getRevision();
+	}
+
+	@Override
+	protected long getSystemPropertiesRevision() {
+		return getEngine().unwrap().getRootCache().getSystemPropertiesRevision();
+	}
+
 	@Override
 	Snapshot<T> getInheritings(T generic) {
-		return () -> {
+		return SizedSnapshot.map(() -> {
 			V vertex = unwrap(generic);
-			return vertex != null ? vertex.getInheritings().stream().map(generic::wrap).iterator() : Collections.emptyIterator();
-		};
+			return vertex != null ? vertex.getInheritings() : AbstractSnapshot.emptySnapshot();
+		}, generic::wrap);
 	}
 
 	@Override
 	Snapshot<T> getInstances(T generic) {
-		return () -> {
+		return SizedSnapshot.map(() -> {
 			V vertex = unwrap(generic);
-			return vertex != null ? vertex.getInstances().stream().map(generic::wrap).iterator() : Collections.emptyIterator();
-		};
+			return vertex != null ? vertex.getInstances() : AbstractSnapshot.emptySnapshot();
+		}, generic::wrap);
 	}
 
 	@Override
 	Snapshot<T> getMetaComponents(T generic, T meta) {
-		return () -> {
+		return SizedSnapshot.map(() -> {
 			V genericVertex = unwrap(generic);
 			V metaVertex = unwrap(meta);
-			return genericVertex != null && metaVertex != null ? genericVertex.getMetaComponents(metaVertex).stream().map(generic::wrap).iterator() : Collections.emptyIterator();
-		};
+			return genericVertex != null && metaVertex != null ? genericVertex.getMetaComponents(metaVertex) : AbstractSnapshot.emptySnapshot();
+		}, generic::wrap);
 	}
 
 	@Override
 	Snapshot<T> getSuperComponents(T generic, T superT) {
-		return () -> {
+		return SizedSnapshot.map(() -> {
 			V genericVertex = unwrap(generic);
 			V superVertex = unwrap(superT);
-			return genericVertex != null && superVertex != null ? genericVertex.getSuperComponents(superVertex).stream().map(generic::wrap).iterator() : Collections.emptyIterator();
-		};
+			return genericVertex != null && superVertex != null ? genericVertex.getSuperComponents(superVertex) : AbstractSnapshot.emptySnapshot();
+		}, generic::wrap);
 	}
 
 	@Override
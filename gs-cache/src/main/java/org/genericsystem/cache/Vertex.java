@@ -1,37 +1,13 @@
 package org.genericsystem.cache;
 
+import java.io.Serializable;
+import java.util.List;
+
 import org.genericsystem.kernel.AbstractVertex;
-import org.genericsystem.kernel.Dependencies;
-import org.genericsystem.kernel.Dependencies.DependenciesEntry;
 import org.genericsystem.kernel.DefaultVertex;
 
 public class Vertex extends AbstractVertex<Vertex, Root> implements DefaultVertex<Vertex, Root> {
 
-	private final Dependencies<Vertex> instances = buildDependencies();
-	private final Dependencies<Vertex> inheritings = buildDependencies();
-	private final Dependencies<DependenciesEntry<Vertex>> superComposites = buildDependencies();
-	private final Dependencies<DependenciesEntry<Vertex>> metaComposites = buildDependencies();
-
-	@Override
-	protected Dependencies<Vertex> getInstancesDependencies() {
-		return instances;
-	}
-
-	@Override
-	protected Dependencies<Vertex> getInheritingsDependencies() {
-		return inheritings;
-	}
-
-	@Override
-	protected Dependencies<DependenciesEntry<Vertex>> getMetaComponentsDependencies() {
-		return metaComposites;
-	}
-
-	@Override
-	protected Dependencies<DependenciesEntry<Vertex>> getSuperComponentsDependencies() {
-		return superComposites;
-	}
-
 	@Override
 	public Vertex newT() {
 		return new Vertex();
@@ -42,4 +18,9 @@ public class Vertex extends AbstractVertex<Vertex, Root> implements DefaultVerte
 		return new Vertex[dim];
 	}
 
+	// plugs an instance of a bootstrap image, with no search of an equivalent instance nor of the instances to rebuild
+	Vertex adoptInstance(boolean throwExistException, List<Vertex> supers, Serializable value, List<Vertex> composites) {
+		return newT().init(throwExistException, this, supers, value, composites).plug();
+	}
+
 }
@@ -0,0 +1,84 @@
+package org.genericsystem.cache;
+
+import java.util.Arrays;
+
+import org.genericsystem.api.exception.ExistsException;
+import org.genericsystem.cache.AnnotationTest.Children;
+import org.genericsystem.cache.AnnotationTest.ChildrenGames;
+import org.genericsystem.cache.AnnotationTest.Games;
+import org.genericsystem.cache.AnnotationTest.GraphicComponent;
+import org.genericsystem.cache.AnnotationTest.MyAudi;
+import org.genericsystem.cache.AnnotationTest.Size;
+import org.genericsystem.cache.AnnotationTest.VehicleInstance;
+import org.genericsystem.cache.AnnotationTest.VehicleType;
+import org.genericsystem.kernel.AbstractVertex.SystemMap;
+import org.genericsystem.kernel.BootstrapImage;
+import org.genericsystem.kernel.Statics;
+import org.testng.annotations.Test;
+
+@Test
+public class BootstrapImageTest extends AbstractTest {
+
+	private static final Class<?>[] USER_CLASSES = { MyAudi.class, ChildrenGames.class, Size.class };
+
+	@SuppressWarnings("unchecked")
+	public void test001_sameGraph() {
+		Engine engine = new Engine(USER_CLASSES);
+		BootstrapImage image = engine.newBootstrapImage();
+		assert image.getClasses().containsAll(Arrays.asList(MyAudi.class, VehicleType.class, ChildrenGames.class, Games.class, Children.class, Size.class, GraphicComponent.class));
+
+		Engine adopted = new Engine(image);
+		assert adopted.getValue().equals(Statics.ENGINE_VALUE);
+		for (Class<?> clazz : image.getClasses()) {
+			Generic generic = adopted.find((Class<Generic>) clazz);
+			assert generic != null && generic.isAlive() : clazz;
+			assert generic.equals(engine.find((Class<Generic>) clazz)) : clazz;
+		}
+		assert adopted.find(MyAudi.class) instanceof MyAudi;
+		assert adopted.find(ChildrenGames.class).inheritsFrom(adopted.find(Games.class));
+		assert adopted.find(Size.class).getComposites().get(0) == adopted.find(GraphicComponent.class);
+		assert adopted.getMetaAttribute().isAlive();
+		assert !adopted.getMetaAttribute().isReferentialIntegrityEnabled(Statics.BASE_POSITION);
+		assert adopted.getInstance(SystemMap.class, adopted).isPropertyConstraintEnabled();
+	}
+
+	public void test002_usableAfterAdoption() {
+		BootstrapImage image = new Engine(USER_CLASSES).newBootstrapImage();
+		Engine adopted = new Engine(image);
+		VehicleType vehicleType = adopted.find(VehicleType.class);
+		assert vehicleType.addInstance("myBmw") instanceof VehicleInstance;
+		adopted.getCurrentCache().flush();
+		assert vehicleType.getInstances().size() == 2;
+		new RollbackCatcher() {
+
+			@Override
+			public void intercept() {
+				vehicleType.addInstance("myBmw");
+			}
+		}.assertIsCausedBy(ExistsException.class);
+	}
+
+	public void test003_enginesAreIndependent() {
+		BootstrapImage image = new Engine(USER_CLASSES).newBootstrapImage();
+		Engine first = new Engine(image);
+		first.find(Games.class).addInstance("chess");
+		first.getCurrentCache().flush();
+		Engine second = new Engine(image);
+		assert second.find(Games.class).getInstances().isEmpty();
+		assert image.size() == new Engine(image).newBootstrapImage().size();
+	}
+
+	public void test004_timeToConstruct() {
+		BootstrapImage image = new Engine(USER_CLASSES).newBootstrapImage();
+		int engineCount = 50;
+		long time = System.nanoTime();
+		for (int i = 0; i < engineCount; i++)
+			new Engine(USER_CLASSES);
+		long bindingTime = System.nanoTime() - time;
+		time = System.nanoTime();
+		for (int i = 0; i < engineCount; i++)
+			new Engine(image);
+		long adoptionTime = System.nanoTime() - time;
+		log.info(engineCount + " engines : " + bindingTime / 1_000_000 + " ms by binding, " + adoptionTime / 1_000_000 + " ms from an image of " + image.size() + " vertices");
+	}
+}
@@ -1,8 +1,12 @@
 package org.genericsystem.cache;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.genericsystem.kernel.BulkLoader.Request;
 import org.testng.annotations.Test;
 
 @Test
@@ -126,4 +130,18 @@ public class CacheTest extends AbstractTest {
 		assert !vehiclePower.isAlive();
 		assert vehicle.getMetaComponents(engine.getMetaAttribute()).isEmpty() : vehicle.getMetaComponents(engine.getMetaAttribute()).stream().collect(Collectors.toList());
 	}
+
+	public void test006_load() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		List<Generic> vehicles = engine.load(IntStream.range(0, 10).mapToObj(i -> new Request<>(vehicle, Collections.emptyList(), "myVehicle" + i, Collections.emptyList())));
+		List<Generic> powers = engine.load(vehicles.stream().map(myVehicle -> new Request<>(power, Collections.emptyList(), 233, Arrays.asList(myVehicle))));
+		engine.getCurrentCache().flush();
+		assert vehicle.getInstances().size() == 10 && vehicle.getInstances().containsAll(vehicles);
+		for (int i = 0; i < 10; i++) {
+			assert vehicles.get(i).unwrap() != null && powers.get(i).unwrap() != null;
+			assert vehicles.get(i).getHolders(power).size() == 1 && vehicles.get(i).getHolders(power).contains(powers.get(i));
+		}
+	}
 }
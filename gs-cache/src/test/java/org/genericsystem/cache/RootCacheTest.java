@@ -0,0 +1,103 @@
+package org.genericsystem.cache;
+
+import org.genericsystem.kernel.ConstraintPlans;
+import org.genericsystem.kernel.RootCache;
+import org.genericsystem.kernel.Statics;
+import org.testng.annotations.Test;
+
+@Test
+public class RootCacheTest extends AbstractTest {
+
+	public void test001_repeatedReadsAreHits() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Generic v233 = power.addInstance(233, myVehicle);
+		RootCache<Generic> rootCache = engine.getRootCache();
+		assert rootCache == engine.getCurrentCache().getRootCache();
+		assert myVehicle.getHolders(power).contains(v233);
+		long hits = rootCache.getHits();
+		long misses = rootCache.getMisses();
+		for (int i = 0; i < 10; i++)
+			assert myVehicle.getHolders(power).size() == 1;
+		assert rootCache.getHits() == hits + 10 : rootCache.getHits() - hits;
+		assert rootCache.getMisses() == misses;
+	}
+
+	public void test002_plugAndUnplugInvalidate() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic car = engine.addInstance(vehicle, "Car");
+		Generic myCar = car.addInstance("myCar");
+		assert myCar.getHolders(power).isEmpty();
+		long revision = engine.getRootCache().getRevision();
+		Generic v233 = power.addInstance(233, vehicle);
+		assert engine.getRootCache().getRevision() > revision;
+		assert myCar.getHolders(power).contains(v233) : myCar.getHolders(power);
+		v233.remove();
+		assert myCar.getHolders(power).isEmpty() : myCar.getHolders(power);
+	}
+
+	public void test003_flushAndClearInvalidate() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Cache<Generic, Engine, Vertex, Root> cache = engine.getCurrentCache();
+		cache.flush();
+		assert myVehicle.getHolders(power).isEmpty();
+
+		Cache<Generic, Engine, Vertex, Root> otherCache = engine.newCache().start();
+		Generic v233 = power.addInstance(233, myVehicle);
+		otherCache.flush();
+		cache.start();
+		assert myVehicle.getHolders(power).contains(v233) : myVehicle.getHolders(power);
+
+		Generic v250 = power.addInstance(250, myVehicle);
+		assert myVehicle.getHolders(power).contains(v250);
+		cache.clear();
+		assert !myVehicle.getHolders(power).contains(v250) : myVehicle.getHolders(power);
+	}
+
+	public void test004_mountedCache() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Cache<Generic, Engine, Vertex, Root> cache = engine.getCurrentCache();
+		assert myVehicle.getHolders(power).isEmpty();
+
+		Cache<Generic, Engine, Vertex, Root> mountedCache = cache.mountNewCache();
+		assert myVehicle.getHolders(power).isEmpty();
+		cache.start();
+		Generic v233 = power.addInstance(233, myVehicle);
+		mountedCache.start();
+		assert myVehicle.getHolders(power).contains(v233) : myVehicle.getHolders(power);
+	}
+
+	public void test005_constraintPlansLiveWithTheCache() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Cache<Generic, Engine, Vertex, Root> cache = engine.getCurrentCache();
+		ConstraintPlans<Generic> plans = engine.getConstraintPlans();
+		assert plans != null;
+		power.addInstance(233, myVehicle);
+		cache.flush();
+		assert engine.getConstraintPlans() == plans;
+
+		power.enableRequiredConstraint(Statics.BASE_POSITION);
+		assert engine.getConstraintPlans() != plans;
+		cache.flush();
+		ConstraintPlans<Generic> requiredPlans = engine.getConstraintPlans();
+		vehicle.addInstance("otherVehicle");
+		cache.clear();
+		assert engine.getConstraintPlans() == requiredPlans;
+
+		power.disableRequiredConstraint(Statics.BASE_POSITION);
+		assert engine.getConstraintPlans() != requiredPlans;
+	}
+}
@@ -0,0 +1,71 @@
+package org.genericsystem.cache;
+
+import org.genericsystem.api.core.SizedSnapshot;
+import org.genericsystem.api.core.Snapshot;
+import org.testng.annotations.Test;
+
+@Test
+public class SizedSnapshotTest extends AbstractTest {
+
+	private static void checkSize(Snapshot<?> snapshot, int expected) {
+		assert snapshot instanceof SizedSnapshot : snapshot.getClass();
+		assert snapshot.size() == expected : snapshot.size() + " " + snapshot.info();
+		assert snapshot.stream().count() == expected : snapshot.info();
+		assert snapshot.isEmpty() == (expected == 0);
+	}
+
+	public void test001_insertsAndDeletes() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		checkSize(vehicle.getInstances(), 0);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Generic yourVehicle = vehicle.addInstance("yourVehicle");
+		checkSize(vehicle.getInstances(), 2);
+		myVehicle.remove();
+		checkSize(vehicle.getInstances(), 1);
+		engine.getCurrentCache().flush();
+		checkSize(vehicle.getInstances(), 1);
+		yourVehicle.remove();
+		checkSize(vehicle.getInstances(), 0);
+		vehicle.addInstance("myVehicle");
+		vehicle.addInstance("ourVehicle");
+		checkSize(vehicle.getInstances(), 2);
+		engine.getCurrentCache().flush();
+		checkSize(vehicle.getInstances(), 2);
+	}
+
+	public void test002_components() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic car = engine.addInstance(vehicle, "Car");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Generic myVehicle233 = power.addInstance(233, myVehicle);
+		checkSize(vehicle.getInheritings(), 1);
+		checkSize(myVehicle.getMetaComponents(power), 1);
+		engine.getCurrentCache().flush();
+		Generic vehicle256 = power.addInstance(256, vehicle);
+		power.addInstance(vehicle256, 123, myVehicle);
+		checkSize(myVehicle.getMetaComponents(power), 2);
+		checkSize(myVehicle.getSuperComponents(vehicle256), 1);
+		myVehicle233.remove();
+		checkSize(myVehicle.getMetaComponents(power), 1);
+		car.remove();
+		checkSize(vehicle.getInheritings(), 0);
+	}
+
+	public void test003_mountedCache() {
+		Engine engine = new Engine();
+		Cache<Generic, Engine, Vertex, Root> currentCache = engine.getCurrentCache();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Cache<Generic, Engine, Vertex, Root> mountNewCache = currentCache.mountNewCache();
+		vehicle.addInstance("yourVehicle");
+		myVehicle.remove();
+		checkSize(vehicle.getInstances(), 1);
+		mountNewCache.flush();
+		checkSize(vehicle.getInstances(), 1);
+		currentCache.flush();
+		checkSize(vehicle.getInstances(), 1);
+	}
+}
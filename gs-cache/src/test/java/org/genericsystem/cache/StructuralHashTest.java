@@ -0,0 +1,100 @@
+package org.genericsystem.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+@Test
+public class StructuralHashTest extends AbstractTest {
+
+	public void test001_equalsHaveSameHash() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic color = engine.addInstance("Color");
+		Generic vehicleColor = engine.addInstance("VehicleColor", vehicle, color);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Generic red = color.addInstance("red");
+		Generic link = vehicleColor.addInstance("link", myVehicle, red);
+		int hashCode = link.hashCode();
+		engine.getCurrentCache().flush();
+		Generic found = vehicleColor.getInstances().stream().filter(x -> x.equals(link)).findFirst().get();
+		assert found.hashCode() == hashCode;
+		assert engine.hashCode() == engine.getMeta().hashCode();
+	}
+
+	public void test002_sameValueDistinctHashes() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic color = engine.addInstance("Color");
+		Generic vehicleColor = engine.addInstance("VehicleColor", vehicle, color);
+		Generic red = color.addInstance("red");
+		Generic blue = color.addInstance("blue");
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Generic redLink = vehicleColor.addInstance("link", myVehicle, red);
+		Generic blueLink = vehicleColor.addInstance("link", myVehicle, blue);
+		assert redLink.hashCode() != blueLink.hashCode();
+		assert !redLink.equals(blueLink);
+	}
+
+	public void test003_relationHeavyCollisions() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic color = engine.addInstance("Color");
+		Generic vehicleColor = engine.addInstance("VehicleColor", vehicle, color);
+		List<Generic> colors = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+			colors.add(color.addInstance("color" + i));
+		List<Generic> links = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Generic myVehicle = vehicle.addInstance("myVehicle" + i);
+			for (Generic myColor : colors)
+				links.add(vehicleColor.addInstance(null, myVehicle, myColor));
+		}
+		Set<Integer> hashes = new HashSet<>();
+		for (Generic link : links)
+			hashes.add(link.hashCode());
+		assert hashes.size() > links.size() * 99 / 100 : hashes.size() + " distinct hashes for " + links.size() + " links";
+
+		long ts = System.nanoTime();
+		Set<Generic> set = new HashSet<>(links);
+		for (Generic link : links)
+			assert set.contains(link);
+		long structural = System.nanoTime() - ts;
+		assert set.size() == links.size();
+
+		ts = System.nanoTime();
+		Set<ValueHashed> valueHashed = new HashSet<>();
+		for (Generic link : links)
+			valueHashed.add(new ValueHashed(link));
+		for (Generic link : links)
+			assert valueHashed.contains(new ValueHashed(link));
+		long byValue = System.nanoTime() - ts;
+		assert valueHashed.size() == links.size();
+		log.info("hashed " + links.size() + " links with null value in " + structural / 1000 + " us with a structural hash, " + byValue / 1000 + " us with a value hash");
+	}
+
+	private static class ValueHashed {
+		private final Generic generic;
+
+		private ValueHashed(Generic generic) {
+			this.generic = generic;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ValueHashed))
+				return false;
+			Generic other = ((ValueHashed) obj).generic;
+			return generic.getMeta().equals(other.getMeta()) && Objects.equals(generic.getValue(), other.getValue()) && generic.getComposites().equals(other.getComposites()) && generic.getSupers().equals(other.getSupers());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(generic.getValue());
+		}
+	}
+}
@@ -2,13 +2,19 @@ package org.genericsystem.cdi;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.genericsystem.cache.GenericsCache;
+import org.genericsystem.concurrency.Archiver;
 import org.genericsystem.concurrency.IEngine;
+import org.genericsystem.concurrency.Journal;
+import org.genericsystem.concurrency.Journal.SyncPolicy;
 import org.genericsystem.concurrency.Transaction;
 import org.genericsystem.impl.SystemCache;
+import org.genericsystem.kernel.BootstrapImage;
 import org.genericsystem.kernel.Statics;
 
 public class Engine extends Generic implements IEngine<Generic, Engine, Vertex, Root> {
@@ -18,16 +24,32 @@ public class Engine extends Generic implements IEngine<Generic, Engine, Vertex,
 	private final GenericsCache<Generic> genericsCache = new GenericsCache<>();
 	private final SystemCache<Generic> systemCache = new SystemCache<>(this);
 	private final Root root;
+	private final Archiver<Vertex, Root> archiver;
+	private final Journal<Vertex, Root> journal;
 
 	public Engine(Class<?>... userClasses) {
 		this(Statics.ENGINE_VALUE, userClasses);
 	}
 
 	public Engine(Serializable engineValue, Class<?>... userClasses) {
+		this(engineValue, null, userClasses);
+	}
+
+	public Engine(Serializable engineValue, String directoryPath, Class<?>... userClasses) {
+		this(engineValue, directoryPath, SyncPolicy.COMMIT, userClasses);
+	}
+
+	public Engine(Serializable engineValue, String directoryPath, SyncPolicy syncPolicy, Class<?>... userClasses) {
 		init(false, null, Collections.emptyList(), engineValue, Collections.emptyList());
 		root = buildRoot(engineValue);
+		archiver = directoryPath != null ? new Archiver<>(root, directoryPath) : null;
+		journal = directoryPath != null ? new Journal<>(root, directoryPath, syncPolicy) : null;
 
 		Cache cache = newCache().start();
+		if (archiver != null) {
+			archiver.restore();
+			journal.replay(archiver);
+		}
 		Generic metaAttribute = setInstance(this, getValue(), coerceToTArray(this));
 		setInstance(SystemMap.class, coerceToTArray(this)).enablePropertyConstraint();
 		metaAttribute.disableReferentialIntegrity(Statics.BASE_POSITION);
@@ -37,10 +59,59 @@ public class Engine extends Generic implements IEngine<Generic, Engine, Vertex,
 		cache.flushAndUnmount();
 	}
 
+	/**
+	 * Builds an in-memory engine from the bootstrap image of an engine of the same user classes, without binding them again.
+	 */
+	public Engine(BootstrapImage image) {
+		init(false, null, Collections.emptyList(), image.getRootValue(), Collections.emptyList());
+		root = buildRoot(image.getRootValue());
+		archiver = null;
+		journal = null;
+		newCache().start();
+		root.adopt(image);
+		image.adopt((Generic) this, (clazz, throwExistException, meta, supers, value, composites) -> {
+			Generic generic = getOrBuildT(clazz, throwExistException, meta, supers, value, composites);
+			if (clazz != null)
+				systemCache.put(clazz, generic);
+			return generic;
+		});
+	}
+
+	/**
+	 * @return an image of the vertices committed in this engine, for engines of the same user classes to adopt
+	 */
+	public BootstrapImage newBootstrapImage() {
+		Cache current = cacheLocal.get();
+		newCache().start();
+		try {
+			Map<Generic, Class<?>> classes = new HashMap<>();
+			systemCache.forEach((clazz, generic) -> classes.put(generic, clazz));
+			return BootstrapImage.capture((Generic) this, classes);
+		} finally {
+			cacheLocal.set(current);
+		}
+	}
+
 	Root buildRoot(Serializable value) {
 		return new Root(this, Statics.ENGINE_VALUE);
 	}
 
+	public Archiver<Vertex, Root> getArchiver() {
+		return archiver;
+	}
+
+	@Override
+	public Journal<Vertex, Root> getJournal() {
+		return journal;
+	}
+
+	public void close() {
+		if (archiver != null) {
+			journal.stopCheckpoints();
+			journal.snapshot(archiver);
+		}
+	}
+
 	@Override
 	public Cache buildCache(org.genericsystem.cache.AbstractContext<Generic, Engine, Vertex, Root> subContext) {
 		return new Cache(subContext);
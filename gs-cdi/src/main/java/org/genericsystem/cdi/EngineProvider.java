@@ -63,7 +63,7 @@ public class EngineProvider {
 	public void destroy() {
 		eventLauncher.launchStopEvent();
 		log.info("$$$$$$$$$$$$$$ STOP GS ENGINE $$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$");
-		// engine.close();
+		engine.close();
 		engine = null;
 	}
 }
@@ -1,5 +1,7 @@
 package org.genericsystem.cdi;
 
+import org.genericsystem.kernel.Statics;
+
 /**
  * <tt>Engine</tt> factory of Generic System. Assemble utilities for management of <tt>Engine</tt> and <tt>Caches</tt>.
  *
@@ -17,7 +19,7 @@ public class GenericSystem {
 	 * @return a new active cache.
 	 */
 	public static Cache newCacheOnANewPersistentEngine(String directoryPath, Class<?>... userClasses) {
-		return newCacheOnANewPersistentEngine(directoryPath, userClasses);
+		return newPersistentEngine(directoryPath, userClasses).getCurrentCache();
 	}
 
 	/**
@@ -56,8 +58,7 @@ public class GenericSystem {
 	 */
 	public static Engine newPersistentEngine(String directoryPath, Class<?>... userClasses) {
 		try {
-			return new Engine();// new Config(directoryPath, factory), userClasses);
-
+			return new Engine(Statics.ENGINE_VALUE, directoryPath, userClasses);
 		} catch (SecurityException | IllegalArgumentException e) {
 			throw new IllegalStateException(e);
 		}
@@ -1,45 +1,60 @@
 package org.genericsystem.cdi;
 
-import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
-import javax.enterprise.inject.Any;
 import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.Extension;
-import javax.enterprise.util.AnnotationLiteral;
+import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.WithAnnotations;
 import org.genericsystem.cdi.event.EventLauncher;
+import org.genericsystem.impl.SchemaRegistry;
 import org.genericsystem.impl.annotations.SystemGeneric;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Provides the @SystemGeneric classes of the deployment to the engine.
+ *
+ * The classes are taken from the schemas generated at build time and visible from the deployment. The @SystemGeneric classes reported by the
+ * container while it discovers the deployment are only a fallback : the ones of a package the processor has not run on, or that a schema could
+ * not reference, are added to them.
+ */
 @ApplicationScoped
 public class StartupBean implements Extension {
 
 	private final Logger log = LoggerFactory.getLogger(StartupBean.class);
 
+	private final Set<Class<?>> discoveredSystemGenerics = new LinkedHashSet<>();
+
+	<T> void discoverSystemGeneric(@Observes @WithAnnotations(SystemGeneric.class) ProcessAnnotatedType<T> event) {
+		discoveredSystemGenerics.add(event.getAnnotatedType().getJavaClass());
+	}
+
 	public void onStartup(@Observes AfterDeploymentValidation event, BeanManager beanManager) {
 		log.info("------------------start initialization-----------------------");
 		UserClassesProvider userClasses = getBean(UserClassesProvider.class, beanManager);
-		@SuppressWarnings("serial")
-		Set<Bean<?>> beans = beanManager.getBeans(Object.class, new AnnotationLiteral<Any>() {});
-		for (Bean<?> bean : beans) {
-			Type clazz = bean.getBeanClass();
-			if (clazz instanceof Class) {
-				Class<?> classToProvide = (Class<?>) clazz;
-				if (classToProvide.getAnnotation(SystemGeneric.class) != null) {
-					log.info("Generic System: providing " + classToProvide);
-					userClasses.addUserClasse(classToProvide);
-				}
-			}
+		Set<Class<?>> systemGenerics = new LinkedHashSet<>(new SchemaRegistry().getDescriptors(getDeploymentClassLoader()).keySet());
+		for (Class<?> classToProvide : discoveredSystemGenerics)
+			if (systemGenerics.add(classToProvide))
+				log.info("Generic System: no generated schema for " + classToProvide + ", described by reflection");
+		for (Class<?> classToProvide : systemGenerics) {
+			log.info("Generic System: providing " + classToProvide);
+			userClasses.addUserClasse(classToProvide);
 		}
 		EventLauncher eventLauncher = getBean(EventLauncher.class, beanManager);
 		eventLauncher.launchStartEvent();
 		log.info("-------------------end initialization------------------------");
 	}
 
+	private static ClassLoader getDeploymentClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : StartupBean.class.getClassLoader();
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <T extends Object> T getBean(Class<T> clazz, BeanManager beanManager) {
 		Bean<?> bean = beanManager.resolve(beanManager.getBeans(clazz));
@@ -6,36 +6,14 @@ import org.genericsystem.concurrency.AbstractDependencies;
 import org.genericsystem.concurrency.AbstractVertex;
 import org.genericsystem.concurrency.IVertex;
 import org.genericsystem.concurrency.LifeManager;
+import org.genericsystem.concurrency.TimestampedDependencies;
 import org.genericsystem.kernel.Dependencies;
 import org.genericsystem.kernel.Dependencies.DependenciesEntry;
+import org.genericsystem.kernel.DependenciesMap;
+import org.genericsystem.kernel.DependenciesMapImpl;
 
 public class Vertex extends AbstractVertex<Vertex, Root> implements IVertex<Vertex, Root> {
 
-	private final Dependencies<Vertex> instances = buildDependencies();
-	private final Dependencies<Vertex> inheritings = buildDependencies();
-	private final Dependencies<DependenciesEntry<Vertex>> superComposites = builMultidDependencies();
-	private final Dependencies<DependenciesEntry<Vertex>> metaComposites = builMultidDependencies();
-
-	@Override
-	protected Dependencies<Vertex> getInstancesDependencies() {
-		return instances;
-	}
-
-	@Override
-	protected Dependencies<Vertex> getInheritingsDependencies() {
-		return inheritings;
-	}
-
-	@Override
-	protected Dependencies<DependenciesEntry<Vertex>> getMetaComponentsDependencies() {
-		return metaComposites;
-	}
-
-	@Override
-	protected Dependencies<DependenciesEntry<Vertex>> getSuperComponentsDependencies() {
-		return superComposites;
-	}
-
 	@Override
 	public Vertex newT() {
 		return new Vertex().restore(getRoot().pickNewTs(), getRoot().getEngine().getCurrentCache().getTs(), 0L, Long.MAX_VALUE);
@@ -63,8 +41,27 @@ public class Vertex extends AbstractVertex<Vertex, Root> implements IVertex<Vert
 		};
 	}
 
-	protected <U> Dependencies<U> builMultidDependencies() {
-		return super.buildDependencies();
+	@SuppressWarnings("unchecked")
+	@Override
+	protected <U> DependenciesMap<U> buildDependenciesMap() {
+		return new DependenciesMapImpl<>(new TimestampedDependencies<DependenciesEntry<U>>() {
+
+			@Override
+			public LifeManager getLifeManager() {
+				return lifeManager;
+			}
+
+			// an entry is alive while one of its dependencies is alive
+			@Override
+			protected boolean isAlive(DependenciesEntry<U> entry, long ts) {
+				return ((TimestampedDependencies<U>) entry.getValue()).iterator(ts).hasNext();
+			}
+
+			@Override
+			public Iterator<DependenciesEntry<U>> iterator() {
+				return iterator(getRoot().getEngine().getCurrentCache().getTs());
+			}
+		});
 	}
 
 }
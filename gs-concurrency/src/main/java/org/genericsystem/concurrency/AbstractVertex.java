@@ -1,15 +1,95 @@
 package org.genericsystem.concurrency;
 
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.genericsystem.api.core.Snapshot;
+import org.genericsystem.kernel.Dependencies;
+import org.genericsystem.kernel.DependenciesMap;
+
 public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends IRoot<T, U>> extends org.genericsystem.kernel.AbstractVertex<T, U> implements IVertex<T, U> {
 
 	protected LifeManager lifeManager;
 
+	// set while some dependents of this vertex are only in a mapped snapshot : they are materialized before the dependencies are read
+	private volatile Runnable pendingDependents;
+
 	@SuppressWarnings("unchecked")
 	protected T restore(Long designTs, long birthTs, long lastReadTs, long deathTs) {
 		lifeManager = new LifeManager(designTs, birthTs, lastReadTs, deathTs);
 		return (T) this;
 	}
 
+	// plugs an instance read from an archive with the timestamps it had when it was archived
+	@SuppressWarnings("unchecked")
+	T restoreInstance(long designTs, long birthTs, long lastReadTs, boolean throwExistException, List<T> supers, Serializable value, List<T> composites) {
+		return newT().restore(designTs, birthTs, lastReadTs, Long.MAX_VALUE).init(throwExistException, (T) this, supers, value, composites).plug();
+	}
+
+	void setPendingDependents(Runnable pendingDependents) {
+		this.pendingDependents = pendingDependents;
+	}
+
+	boolean hasPendingDependents() {
+		return pendingDependents != null;
+	}
+
+	private void materializeDependents() {
+		Runnable pendingDependents = this.pendingDependents;
+		if (pendingDependents != null)
+			pendingDependents.run();
+	}
+
+	@Override
+	protected Dependencies<T> getInstancesDependencies() {
+		materializeDependents();
+		return super.getInstancesDependencies();
+	}
+
+	@Override
+	protected Dependencies<T> getInheritingsDependencies() {
+		materializeDependents();
+		return super.getInheritingsDependencies();
+	}
+
+	@Override
+	protected DependenciesMap<T> getMetaComponentsDependencies() {
+		materializeDependents();
+		return super.getMetaComponentsDependencies();
+	}
+
+	@Override
+	protected DependenciesMap<T> getSuperComponentsDependencies() {
+		materializeDependents();
+		return super.getSuperComponentsDependencies();
+	}
+
+	@Override
+	protected Map<Object, Dependencies<T>> getInstancesByValueDependencies() {
+		materializeDependents();
+		return super.getInstancesByValueDependencies();
+	}
+
+	@Override
+	public Snapshot<T> getInstances() {
+		materializeDependents();
+		return super.getInstances();
+	}
+
+	@Override
+	public Snapshot<T> getInheritings() {
+		materializeDependents();
+		return super.getInheritings();
+	}
+
+	// the instances alive at ts, read without a cache
+	Iterator<T> getInstances(long ts) {
+		Dependencies<T> instances = getInstancesDependencies();
+		return instances instanceof AbstractDependencies ? ((AbstractDependencies<T>) instances).iterator(ts) : instances.iterator();
+	}
+
 	//
 	@Override
 	public LifeManager getLifeManager() {
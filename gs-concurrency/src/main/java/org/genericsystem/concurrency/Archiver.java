@@ -0,0 +1,652 @@
+package org.genericsystem.concurrency;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the vertices of a root alive at a timestamp in a binary snapshot file of a directory, and restores the last snapshot of this
+ * directory in a new root.
+ *
+ * Vertices are numbered in the order they are written, and each one is written after its meta, its supers and its composites. An index
+ * written after the vertices gives the offset of each one, its dependents and the ids sorted by design ts. A snapshot is restored through a
+ * mapping of its file : the structural vertices and their dependencies are materialized at once, a concrete vertex when the dependencies of
+ * its meta, one of its supers or one of its composites are first read. Vertices materialized together are decoded in parallel, then plugged
+ * in the order of the snapshot. Snapshot files are named after their timestamp, the older ones are deleted once a new one is written.
+ *
+ * @param <T>
+ * @param <U>
+ */
+public class Archiver<T extends AbstractVertex<T, U>, U extends IRoot<T, U>> {
+
+	protected static Logger log = LoggerFactory.getLogger(Archiver.class);
+
+	private static final int MAGIC = 0x47534152;
+	private static final int VERSION = 2;
+	private static final String SNAPSHOT_EXTENSION = ".snapshot";
+	private static final String PART_EXTENSION = ".part";
+	private static final int PARALLEL_THRESHOLD = 64;
+
+	private static final byte END = 0;
+	private static final byte VERTEX = 1;
+
+	private static final byte NULL_VALUE = 0;
+	private static final byte STRING_VALUE = 1;
+	private static final byte INTEGER_VALUE = 2;
+	private static final byte LONG_VALUE = 3;
+	private static final byte BOOLEAN_VALUE = 4;
+	private static final byte CLASS_VALUE = 5;
+	private static final byte SERIALIZED_VALUE = 6;
+
+	private final U root;
+	private final Path directory;
+
+	private MappedSnapshot mappedSnapshot;
+
+	public Archiver(U root, String directoryPath) {
+		this.root = root;
+		this.directory = Paths.get(directoryPath);
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Maps the last snapshot of the directory, if any, and materializes its structural vertices in the root. The root must not have other
+	 * vertices than the ones of a snapshot yet.
+	 *
+	 * @return the number of vertices of the snapshot, root excluded
+	 */
+	public int restore() {
+		Path snapshot = getLastSnapshot();
+		if (snapshot == null)
+			return 0;
+		try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			mappedSnapshot = new MappedSnapshot(channel);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		synchronized (root.getEngine()) {
+			mappedSnapshot.materializeStructurals();
+		}
+		log.info("Mapped " + mappedSnapshot.count + " vertices from " + snapshot + ", " + getMaterializedCount() + " materialized");
+		return mappedSnapshot.count;
+	}
+
+	/**
+	 * @return the ts of the restored snapshot, or Long.MIN_VALUE if none
+	 */
+	public long getSnapshotTs() {
+		return mappedSnapshot != null ? mappedSnapshot.getLong(8) : Long.MIN_VALUE;
+	}
+
+	/**
+	 * @return the number of vertices of the restored snapshot materialized so far, root included
+	 */
+	public int getMaterializedCount() {
+		synchronized (root.getEngine()) {
+			return mappedSnapshot != null ? mappedSnapshot.materialized.size() : 0;
+		}
+	}
+
+	/**
+	 * @param designTs
+	 *            the design ts of a vertex
+	 * @return the vertex of the restored snapshot with this design ts, materialized if needed, or null
+	 */
+	public T getVertex(long designTs) {
+		if (mappedSnapshot == null)
+			return null;
+		synchronized (root.getEngine()) {
+			int id = mappedSnapshot.getId(designTs);
+			return id > 0 ? mappedSnapshot.materialize(id) : null;
+		}
+	}
+
+	// a snapshot file mapped in chunks, and the vertices materialized from it by id : they are read holding the engine
+	private class MappedSnapshot {
+
+		private static final int CHUNK_SHIFT = 30;
+		private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+		private final MappedByteBuffer[] chunks;
+		private final int count;
+		private final long offsetsPosition;
+		private final long structuralsPosition;
+		private final long startsPosition;
+		private final long dependentsPosition;
+		private final long designTsPosition;
+		private final long idsPosition;
+		private final long endPosition;
+		private final Map<Integer, T> materialized = new HashMap<>();
+		private final Set<Integer> materializingDependents = new HashSet<>();
+		private int materializing;
+
+		private MappedSnapshot(FileChannel channel) throws IOException {
+			long size = channel.size();
+			chunks = new MappedByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT)];
+			for (int i = 0; i < chunks.length; i++) {
+				long start = (long) i << CHUNK_SHIFT;
+				chunks[i] = channel.map(MapMode.READ_ONLY, start, Math.min(size - start, 1L << CHUNK_SHIFT));
+			}
+			if (size < 24 || getInt(0) != MAGIC || getInt(4) != VERSION || getInt(size - 4) != MAGIC)
+				throw new IllegalStateException("Not a snapshot : " + channel);
+			long indexPosition = getLong(size - 12);
+			endPosition = indexPosition - 1;
+			count = getInt(indexPosition);
+			offsetsPosition = indexPosition + 4;
+			structuralsPosition = offsetsPosition + 8L * count;
+			startsPosition = structuralsPosition + 4 + 4L * getInt(structuralsPosition);
+			dependentsPosition = startsPosition + 4L * (count + 2);
+			designTsPosition = dependentsPosition + 4L * getInt(startsPosition + 4L * (count + 1));
+			idsPosition = designTsPosition + 8L * count;
+		}
+
+		private void materializeStructurals() {
+			materialized.put(0, root.getAlive());
+			setPendingDependents(0, root.getAlive());
+			int[] structurals = new int[getInt(structuralsPosition)];
+			for (int i = 0; i < structurals.length; i++)
+				structurals[i] = getInt(structuralsPosition + 4L * (i + 1));
+			materialize(structurals);
+		}
+
+		// ids are in the order of the snapshot : the records are decoded in parallel, then the vertices are built and plugged in this order
+		private void materialize(int[] ids) {
+			Record[] records = new Record[ids.length];
+			IntStream indexes = IntStream.range(0, ids.length);
+			(ids.length >= PARALLEL_THRESHOLD ? indexes.parallel() : indexes).forEach(i -> {
+				if (!materialized.containsKey(ids[i]))
+					records[i] = decode(ids[i]);
+			});
+			for (int i = 0; i < ids.length; i++)
+				if (records[i] != null && !materialized.containsKey(ids[i]))
+					build(ids[i], records[i]);
+		}
+
+		private T materialize(int id) {
+			T vertex = materialized.get(id);
+			return vertex != null ? vertex : build(id, decode(id));
+		}
+
+		private Record decode(int id) {
+			long offset = getLong(offsetsPosition + 8L * (id - 1));
+			long next = id < count ? getLong(offsetsPosition + 8L * id) : endPosition;
+			byte[] bytes = new byte[(int) (next - offset)];
+			get(offset, bytes);
+			try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+				return new Record(in);
+			} catch (IOException | ClassNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		// the vertex of record, after its meta, supers and composites : a composite of id itself is passed as null
+		private T build(int id, Record record) {
+			T meta = resolve(record.meta, id);
+			List<T> supers = resolve(record.supers, id);
+			List<T> composites = resolve(record.composites, id);
+			T vertex;
+			materializing++;
+			try {
+				vertex = meta.restoreInstance(record.designTs, record.birthTs, record.lastReadTs, record.throwExistException, supers, record.value, composites);
+			} finally {
+				materializing--;
+			}
+			materialized.put(id, vertex);
+			setPendingDependents(id, vertex);
+			return vertex;
+		}
+
+		private T resolve(int id, int builtId) {
+			return id == 0 ? root.getAlive() : id == builtId ? null : materialize(id);
+		}
+
+		private List<T> resolve(int[] ids, int builtId) {
+			List<T> result = new ArrayList<>(ids.length);
+			for (int id : ids)
+				result.add(resolve(id, builtId));
+			return result;
+		}
+
+		private void setPendingDependents(int id, T vertex) {
+			if (getInt(startsPosition + 4L * (id + 1)) > getInt(startsPosition + 4L * id))
+				vertex.setPendingDependents(() -> materializeDependents(id, vertex));
+		}
+
+		// the dependents stay pending until they are all materialized : the readers of other threads wait for them
+		// the checks of a vertex being plugged do not materialize, a dependent could reference the vertex not materialized yet
+		private void materializeDependents(int id, T vertex) {
+			synchronized (root.getEngine()) {
+				if (materializing > 0 || !vertex.hasPendingDependents() || !materializingDependents.add(id))
+					return;
+				try {
+					int start = getInt(startsPosition + 4L * id);
+					int[] dependents = new int[getInt(startsPosition + 4L * (id + 1)) - start];
+					for (int i = 0; i < dependents.length; i++)
+						dependents[i] = getInt(dependentsPosition + 4L * (start + i));
+					materialize(dependents);
+					vertex.setPendingDependents(null);
+				} finally {
+					materializingDependents.remove(id);
+				}
+			}
+		}
+
+		private int getId(long designTs) {
+			int low = 0;
+			int high = count - 1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				long middleTs = getLong(designTsPosition + 8L * middle);
+				if (middleTs < designTs)
+					low = middle + 1;
+				else if (middleTs > designTs)
+					high = middle - 1;
+				else
+					return getInt(idsPosition + 4L * middle);
+			}
+			return -1;
+		}
+
+		private int getInt(long position) {
+			MappedByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+			int index = (int) (position & CHUNK_MASK);
+			if (index + 4 <= chunk.limit())
+				return chunk.getInt(index);
+			byte[] bytes = new byte[4];
+			get(position, bytes);
+			return (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | bytes[3] & 0xFF;
+		}
+
+		private long getLong(long position) {
+			return (long) getInt(position) << 32 | getInt(position + 4) & 0xFFFFFFFFL;
+		}
+
+		private void get(long position, byte[] bytes) {
+			for (int done = 0; done < bytes.length;) {
+				ByteBuffer chunk = chunks[(int) ((position + done) >>> CHUNK_SHIFT)].duplicate();
+				chunk.position((int) ((position + done) & CHUNK_MASK));
+				int length = Math.min(bytes.length - done, chunk.remaining());
+				chunk.get(bytes, done, length);
+				done += length;
+			}
+		}
+	}
+
+	// a vertex record decoded, its meta, supers and composites referenced by id
+	private static class Record {
+
+		private final long designTs;
+		private final long birthTs;
+		private final long lastReadTs;
+		private final boolean throwExistException;
+		private final int meta;
+		private final int[] supers;
+		private final Serializable value;
+		private final int[] composites;
+
+		private Record(DataInputStream in) throws IOException, ClassNotFoundException {
+			in.readByte();
+			designTs = in.readLong();
+			birthTs = in.readLong();
+			lastReadTs = in.readLong();
+			throwExistException = in.readBoolean();
+			meta = in.readInt();
+			supers = readIds(in);
+			value = readValue(in);
+			composites = readIds(in);
+		}
+
+		private static int[] readIds(DataInputStream in) throws IOException {
+			int[] ids = new int[in.readInt()];
+			for (int i = 0; i < ids.length; i++)
+				ids[i] = in.readInt();
+			return ids;
+		}
+	}
+
+	static Serializable readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+		switch (in.readByte()) {
+		case NULL_VALUE:
+			return null;
+		case STRING_VALUE:
+			return new String(readBytes(in), StandardCharsets.UTF_8);
+		case INTEGER_VALUE:
+			return in.readInt();
+		case LONG_VALUE:
+			return in.readLong();
+		case BOOLEAN_VALUE:
+			return in.readBoolean();
+		case CLASS_VALUE:
+			return Class.forName(new String(readBytes(in), StandardCharsets.UTF_8));
+		case SERIALIZED_VALUE:
+			try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+				return (Serializable) objectIn.readObject();
+			}
+		default:
+			throw new IllegalStateException("Unknown value tag");
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Writes the vertices alive now in a new snapshot of the directory, and deletes the older snapshots. All the vertices of a restored
+	 * snapshot are materialized by the way.
+	 *
+	 * @return the number of vertices written, root excluded
+	 */
+	public int snapshot() {
+		long ts = root.pickNewTs();
+		Path part = directory.resolve(ts + PART_EXTENSION);
+		Path snapshot = directory.resolve(ts + SNAPSHOT_EXTENSION);
+		int count;
+		try {
+			try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+				DataOutputStream out = new DataOutputStream(counter);
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(ts);
+				Index index = new Index();
+				writeVertices(out, counter, ts, index);
+				out.writeByte(END);
+				index.write(out, counter.count);
+				out.flush();
+				count = index.size;
+				channel.force(true);
+			}
+			Files.move(part, snapshot, StandardCopyOption.ATOMIC_MOVE);
+			deleteSnapshotsBefore(ts);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		log.info("Archived " + count + " vertices in " + snapshot);
+		return count;
+	}
+
+	private void writeVertices(DataOutputStream out, CountingOutputStream counter, long ts, Index index) throws IOException {
+		Map<T, Integer> ids = new IdentityHashMap<>();
+		ids.put(root.getAlive(), 0);
+		Set<T> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<T> toVisit = new ArrayDeque<>();
+		toVisit.push(root.getAlive());
+		while (!toVisit.isEmpty()) {
+			Iterator<T> instances = toVisit.pop().getInstances(ts);
+			while (instances.hasNext()) {
+				T instance = instances.next();
+				if (visited.add(instance)) {
+					write(out, counter, instance, ids, index);
+					toVisit.push(instance);
+				}
+			}
+		}
+	}
+
+	// writes the dependencies of vertex not written yet, then vertex
+	private void write(DataOutputStream out, CountingOutputStream counter, T vertex, Map<T, Integer> ids, Index index) throws IOException {
+		Deque<T> toWrite = new ArrayDeque<>();
+		toWrite.push(vertex);
+		while (!toWrite.isEmpty()) {
+			T next = toWrite.peek();
+			T dependency = getUnwrittenDependency(next, ids);
+			if (dependency != null)
+				toWrite.push(dependency);
+			else {
+				toWrite.pop();
+				if (!ids.containsKey(next)) {
+					ids.put(next, ids.size());
+					index.add(next, counter.count, ids);
+					writeVertex(out, next, ids);
+				}
+			}
+		}
+	}
+
+	private T getUnwrittenDependency(T vertex, Map<T, Integer> ids) {
+		if (!ids.containsKey(vertex.getMeta()))
+			return vertex.getMeta();
+		for (T superVertex : vertex.getSupers())
+			if (!ids.containsKey(superVertex))
+				return superVertex;
+		for (T composite : vertex.getComposites())
+			if (composite != vertex && !ids.containsKey(composite))
+				return composite;
+		return null;
+	}
+
+	private void writeVertex(DataOutputStream out, T vertex, Map<T, Integer> ids) throws IOException {
+		LifeManager lifeManager = vertex.getLifeManager();
+		out.writeByte(VERTEX);
+		out.writeLong(lifeManager.getDesignTs());
+		out.writeLong(lifeManager.getBirthTs());
+		out.writeLong(lifeManager.getLastReadTs());
+		out.writeBoolean(vertex.isThrowExistException());
+		out.writeInt(ids.get(vertex.getMeta()));
+		writeVertices(out, vertex.getSupers(), ids);
+		writeValue(out, vertex.getValue());
+		writeVertices(out, vertex.getComposites(), ids);
+	}
+
+	private static <T> void writeVertices(DataOutputStream out, List<T> vertices, Map<T, Integer> ids) throws IOException {
+		out.writeInt(vertices.size());
+		for (T vertex : vertices)
+			out.writeInt(ids.get(vertex));
+	}
+
+	static void writeValue(DataOutputStream out, Serializable value) throws IOException {
+		if (value == null)
+			out.writeByte(NULL_VALUE);
+		else if (value instanceof String) {
+			out.writeByte(STRING_VALUE);
+			writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+		} else if (value instanceof Integer) {
+			out.writeByte(INTEGER_VALUE);
+			out.writeInt((Integer) value);
+		} else if (value instanceof Long) {
+			out.writeByte(LONG_VALUE);
+			out.writeLong((Long) value);
+		} else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean((Boolean) value);
+		} else if (value instanceof Class) {
+			out.writeByte(CLASS_VALUE);
+			writeBytes(out, ((Class<?>) value).getName().getBytes(StandardCharsets.UTF_8));
+		} else {
+			out.writeByte(SERIALIZED_VALUE);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+				objectOut.writeObject(value);
+			}
+			writeBytes(out, bytes.toByteArray());
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	// the offset, the design ts and the references of each vertex written, by id
+	private class Index {
+
+		private long[] offsets = new long[64];
+		private long[] designTs = new long[64];
+		private int[][] references = new int[64][];
+		private boolean[] structurals = new boolean[64];
+		private int size;
+
+		private void add(T vertex, long offset, Map<T, Integer> ids) {
+			if (++size == offsets.length) {
+				offsets = Arrays.copyOf(offsets, size * 2);
+				designTs = Arrays.copyOf(designTs, size * 2);
+				references = Arrays.copyOf(references, size * 2);
+				structurals = Arrays.copyOf(structurals, size * 2);
+			}
+			offsets[size] = offset;
+			designTs[size] = vertex.getLifeManager().getDesignTs();
+			structurals[size] = vertex.getLevel() <= 1;
+			int[] vertexReferences = new int[1 + vertex.getSupers().size() + vertex.getComposites().size()];
+			int i = 0;
+			vertexReferences[i++] = ids.get(vertex.getMeta());
+			for (T superVertex : vertex.getSupers())
+				vertexReferences[i++] = ids.get(superVertex);
+			for (T composite : vertex.getComposites())
+				vertexReferences[i++] = ids.get(composite);
+			references[size] = vertexReferences;
+		}
+
+		private void write(DataOutputStream out, long indexPosition) throws IOException {
+			// the references of a structural vertex are materialized with it : they are structural too
+			for (int id = size; id > 0; id--)
+				if (structurals[id])
+					for (int reference : references[id])
+						structurals[reference] = true;
+			out.writeInt(size);
+			for (int id = 1; id <= size; id++)
+				out.writeLong(offsets[id]);
+			int structuralCount = 0;
+			for (int id = 1; id <= size; id++)
+				if (structurals[id])
+					structuralCount++;
+			out.writeInt(structuralCount);
+			for (int id = 1; id <= size; id++)
+				if (structurals[id])
+					out.writeInt(id);
+			writeDependents(out);
+			Integer[] sortedIds = new Integer[size];
+			for (int i = 0; i < size; i++)
+				sortedIds[i] = i + 1;
+			Arrays.sort(sortedIds, (id1, id2) -> Long.compare(designTs[id1], designTs[id2]));
+			for (Integer id : sortedIds)
+				out.writeLong(designTs[id]);
+			for (Integer id : sortedIds)
+				out.writeInt(id);
+			out.writeLong(indexPosition);
+			out.writeInt(MAGIC);
+		}
+
+		// the concrete dependents of each vertex, root included, indexed by a table of starts
+		private void writeDependents(DataOutputStream out) throws IOException {
+			int[] starts = new int[size + 2];
+			for (int id = 1; id <= size; id++)
+				if (!structurals[id])
+					for (int reference : getDistinctReferences(id))
+						starts[reference + 1]++;
+			for (int id = 0; id <= size; id++)
+				starts[id + 1] += starts[id];
+			int[] dependents = new int[starts[size + 1]];
+			int[] filled = Arrays.copyOf(starts, size + 1);
+			for (int id = 1; id <= size; id++)
+				if (!structurals[id])
+					for (int reference : getDistinctReferences(id))
+						dependents[filled[reference]++] = id;
+			for (int start : starts)
+				out.writeInt(start);
+			for (int dependent : dependents)
+				out.writeInt(dependent);
+		}
+
+		private int[] getDistinctReferences(int id) {
+			return Arrays.stream(references[id]).filter(reference -> reference != id).distinct().toArray();
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		private CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	private Path getLastSnapshot() {
+		Path last = null;
+		long lastTs = Long.MIN_VALUE;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SNAPSHOT_EXTENSION)) {
+			for (Path path : stream) {
+				long ts = getTs(path);
+				if (ts > lastTs) {
+					lastTs = ts;
+					last = path;
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return last;
+	}
+
+	private void deleteSnapshotsBefore(long ts) throws IOException {
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SNAPSHOT_EXTENSION)) {
+			for (Path path : stream)
+				if (getTs(path) < ts)
+					Files.delete(path);
+		}
+	}
+
+	private static long getTs(Path snapshot) {
+		String name = snapshot.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - SNAPSHOT_EXTENSION.length()));
+	}
+}
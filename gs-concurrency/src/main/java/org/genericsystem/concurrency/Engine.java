@@ -2,11 +2,15 @@ package org.genericsystem.concurrency;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.genericsystem.cache.GenericsCache;
+import org.genericsystem.concurrency.Journal.SyncPolicy;
 import org.genericsystem.impl.SystemCache;
+import org.genericsystem.kernel.BootstrapImage;
 import org.genericsystem.kernel.Statics;
 
 public class Engine extends Generic implements IEngine<Generic, Engine, Vertex, Root> {
@@ -16,16 +20,43 @@ public class Engine extends Generic implements IEngine<Generic, Engine, Vertex,
 	private final GenericsCache<Generic> genericsCache = new GenericsCache<>();
 	private final SystemCache<Generic> systemCache = new SystemCache<>(this);
 	private final Root root;
+	private final Archiver<Vertex, Root> archiver;
+	private final Journal<Vertex, Root> journal;
 
 	public Engine(Class<?>... userClasses) {
 		this(Statics.ENGINE_VALUE, userClasses);
 	}
 
 	public Engine(Serializable engineValue, Class<?>... userClasses) {
+		this(engineValue, null, userClasses);
+	}
+
+	/**
+	 * @param directoryPath
+	 *            the directory of the snapshots, or null for an in-memory engine : the last snapshot of this directory is restored
+	 */
+	public Engine(Serializable engineValue, String directoryPath, Class<?>... userClasses) {
+		this(engineValue, directoryPath, SyncPolicy.COMMIT, userClasses);
+	}
+
+	/**
+	 * @param directoryPath
+	 *            the directory of the snapshots and of the journal, or null for an in-memory engine : the last snapshot of this directory is
+	 *            restored, then the journal is replayed over it
+	 * @param syncPolicy
+	 *            when the journal is forced to the disk
+	 */
+	public Engine(Serializable engineValue, String directoryPath, SyncPolicy syncPolicy, Class<?>... userClasses) {
 		init(false, null, Collections.emptyList(), engineValue, Collections.emptyList());
 		root = buildRoot(engineValue);
+		archiver = directoryPath != null ? new Archiver<>(root, directoryPath) : null;
+		journal = directoryPath != null ? new Journal<>(root, directoryPath, syncPolicy) : null;
 
 		Cache<Generic, Engine, Vertex, Root> cache = newCache().start();
+		if (archiver != null) {
+			archiver.restore();
+			journal.replay(archiver);
+		}
 		Generic metaAttribute = setInstance(this, getValue(), coerceToTArray(this));
 		setInstance(SystemMap.class, coerceToTArray(this)).enablePropertyConstraint();
 		metaAttribute.disableReferentialIntegrity(Statics.BASE_POSITION);
@@ -35,10 +66,62 @@ public class Engine extends Generic implements IEngine<Generic, Engine, Vertex,
 		cache.flushAndUnmount();
 	}
 
+	/**
+	 * Builds an in-memory engine from the bootstrap image of an engine of the same user classes, without binding them again.
+	 */
+	public Engine(BootstrapImage image) {
+		init(false, null, Collections.emptyList(), image.getRootValue(), Collections.emptyList());
+		root = buildRoot(image.getRootValue());
+		archiver = null;
+		journal = null;
+		newCache().start();
+		root.adopt(image);
+		image.adopt((Generic) this, (clazz, throwExistException, meta, supers, value, composites) -> {
+			Generic generic = getOrBuildT(clazz, throwExistException, meta, supers, value, composites);
+			if (clazz != null)
+				systemCache.put(clazz, generic);
+			return generic;
+		});
+	}
+
+	/**
+	 * @return an image of the vertices committed in this engine, for engines of the same user classes to adopt
+	 */
+	public BootstrapImage newBootstrapImage() {
+		Cache<Generic, Engine, Vertex, Root> current = cacheLocal.get();
+		newCache().start();
+		try {
+			Map<Generic, Class<?>> classes = new HashMap<>();
+			systemCache.forEach((clazz, generic) -> classes.put(generic, clazz));
+			return BootstrapImage.capture((Generic) this, classes);
+		} finally {
+			cacheLocal.set(current);
+		}
+	}
+
 	Root buildRoot(Serializable value) {
 		return new Root(this, value);
 	}
 
+	public Archiver<Vertex, Root> getArchiver() {
+		return archiver;
+	}
+
+	@Override
+	public Journal<Vertex, Root> getJournal() {
+		return journal;
+	}
+
+	/**
+	 * Stops the checkpoints of a persistent engine, writes a last snapshot and deletes the journal and checkpoint files it covers.
+	 */
+	public void close() {
+		if (archiver != null) {
+			journal.stopCheckpoints();
+			journal.snapshot(archiver);
+		}
+	}
+
 	@Override
 	public Root unwrap() {
 		return root;
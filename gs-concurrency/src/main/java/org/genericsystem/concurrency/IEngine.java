@@ -21,4 +21,11 @@ public interface IEngine<T extends AbstractGeneric<T, U, V, W>, U extends IEngin
 	@Override
 	public Cache<T, U, V, W> getCurrentCache();
 
+	/**
+	 * @return the journal of the transactions applied, or null if they are not journaled
+	 */
+	default Journal<V, W> getJournal() {
+		return null;
+	}
+
 }
@@ -1,9 +1,23 @@
 package org.genericsystem.concurrency;
 
+import java.util.List;
+
+import org.genericsystem.kernel.BootstrapImage;
+
 public interface IRoot<T extends AbstractVertex<T, U>, U extends IRoot<T, U>> extends org.genericsystem.cache.IRoot<T, U>, IVertex<T, U> {
 
 	long pickNewTs();
 
 	GarbageCollector<T, U> getGarbageCollector();
 
+	/**
+	 * Plugs the vertices of a bootstrap image under this root, born with it : they are visible to any cache.
+	 *
+	 * @return the vertices adopted, by position in the image
+	 */
+	@SuppressWarnings("unchecked")
+	default List<T> adopt(BootstrapImage image) {
+		return image.adopt((T) this, (clazz, throwExistException, meta, supers, value, composites) -> meta.restoreInstance(pickNewTs(), 0L, 0L, throwExistException, supers, value, composites));
+	}
+
 }
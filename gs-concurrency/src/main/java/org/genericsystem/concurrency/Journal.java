@@ -0,0 +1,587 @@
+package org.genericsystem.concurrency;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only journal of the transactions applied on a root, replayed over the last snapshot of the same directory when an engine starts.
+ *
+ * Each record holds the ts of a transaction, the vertices it removes and the vertices it adds. Vertices are referenced by their design ts,
+ * which is unique and kept by snapshots. A record is written while the transaction holds the engine, its sync is awaited after : committers
+ * waiting together share a single force of the file.
+ *
+ * Once checkpoints are started, the journal files are compacted in checkpoint files : the vertices born since the last checkpoint and still
+ * alive, and the vertices killed since, with the timestamps of their life manager. The journal files a checkpoint covers are then deleted,
+ * so that a restart replays at most the records of a checkpoint period.
+ *
+ * @param <T>
+ * @param <U>
+ */
+public class Journal<T extends AbstractVertex<T, U>, U extends IRoot<T, U>> {
+
+	protected static Logger log = LoggerFactory.getLogger(Journal.class);
+
+	private static final String JOURNAL_EXTENSION = ".journal";
+	private static final String CHECKPOINT_EXTENSION = ".checkpoint";
+	private static final String PART_EXTENSION = ".part";
+	private static final long ROOT_REF = 0L;
+
+	private final U root;
+	private final Path directory;
+	private final SyncPolicy syncPolicy;
+	private final Object syncLock = new Object();
+	private final ScheduledExecutorService scheduler;
+	private final Object checkpointLock = new Object();
+	private ScheduledExecutorService checkpointScheduler;
+
+	private FileChannel channel;
+	private long appended;
+	// the first write that failed : the engine holds a transaction its journal does not, no record is appended after it
+	private IOException failure;
+	private volatile long synced;
+	private long syncCount;
+	// the vertices added and removed since the last checkpoint or snapshot, replayed from the journal files included
+	private Set<T> added = new LinkedHashSet<>();
+	private List<T> removed = new ArrayList<>();
+
+	public Journal(U root, String directoryPath, SyncPolicy syncPolicy) {
+		this.root = root;
+		this.directory = Paths.get(directoryPath);
+		this.syncPolicy = syncPolicy;
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		if (syncPolicy.period > 0) {
+			scheduler = newScheduler("gs-journal-sync");
+			scheduler.scheduleAtFixedRate(() -> sync(getAppended()), syncPolicy.period, syncPolicy.period, TimeUnit.MILLISECONDS);
+		} else
+			scheduler = null;
+	}
+
+	private static ScheduledExecutorService newScheduler(String name) {
+		return Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public SyncPolicy getSyncPolicy() {
+		return syncPolicy;
+	}
+
+	/**
+	 * @return the number of forces of the journal files
+	 */
+	public long getSyncCount() {
+		synchronized (syncLock) {
+			return syncCount;
+		}
+	}
+
+	/**
+	 * Encodes the values of the vertices a transaction adds. Must be called before the transaction is applied : a value that can not be written
+	 * fails the transaction while there is nothing to undo.
+	 *
+	 * @return the encoded values, to append with the record of the transaction
+	 */
+	synchronized List<byte[]> prepare(List<Serializable> values) {
+		checkNotFailed();
+		List<byte[]> result = new ArrayList<>(values.size());
+		for (Serializable value : values) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				Archiver.writeValue(out, value);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			result.add(bytes.toByteArray());
+		}
+		return result;
+	}
+
+	private void checkNotFailed() {
+		if (failure != null)
+			throw new IllegalStateException("The journal of " + directory + " has failed, the engine must be restarted", failure);
+	}
+
+	/**
+	 * Appends the record of a transaction. Must be called while the transaction holds the engine, so that records are in commit order.
+	 *
+	 * Only the write of the record may fail : the transaction is then applied but not journaled, and the journal refuses any other record.
+	 *
+	 * @return the position to wait with commit()
+	 */
+	synchronized long append(long ts, List<T> removes, List<T> adds, List<byte[]> values) {
+		checkNotFailed();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeLong(ts);
+			out.writeInt(removes.size());
+			for (T remove : removes)
+				out.writeLong(getRef(remove));
+			out.writeInt(adds.size());
+			for (int i = 0; i < adds.size(); i++) {
+				T add = adds.get(i);
+				out.writeLong(getRef(add));
+				out.writeBoolean(add.isThrowExistException());
+				out.writeLong(getRef(add.getMeta()));
+				writeRefs(out, add.getSupers());
+				out.write(values.get(i));
+				writeRefs(out, add.getComposites());
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] payload = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		ByteBuffer buffer = ByteBuffer.allocate(12 + payload.length);
+		buffer.putInt(payload.length).putLong(crc.getValue()).put(payload).flip();
+		try {
+			if (channel == null)
+				channel = FileChannel.open(directory.resolve(root.pickNewTs() + JOURNAL_EXTENSION), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			long position = channel.position();
+			try {
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+			} catch (IOException e) {
+				discardTornRecord(position, e);
+				throw e;
+			}
+		} catch (IOException e) {
+			failure = e;
+			log.error("Unable to append to the journal of " + directory + ", the engine must be restarted", e);
+			throw new IllegalStateException(e);
+		}
+		track(removes, adds);
+		return appended += buffer.limit();
+	}
+
+	// the bytes of a record partly written are cut off, or left at the end of a file closed : no record follows them
+	private void discardTornRecord(long position, IOException e) {
+		try {
+			channel.truncate(position);
+		} catch (IOException truncateException) {
+			e.addSuppressed(truncateException);
+			try {
+				channel.close();
+			} catch (IOException closeException) {
+				e.addSuppressed(closeException);
+			}
+			channel = null;
+		}
+	}
+
+	private synchronized void track(List<T> removes, List<T> adds) {
+		for (T remove : removes)
+			if (!added.remove(remove))
+				removed.add(remove);
+		added.addAll(adds);
+	}
+
+	private static <T extends AbstractVertex<T, ?>> long getRef(T vertex) {
+		return vertex.isRoot() ? ROOT_REF : vertex.getLifeManager().getDesignTs();
+	}
+
+	private static <T extends AbstractVertex<T, ?>> void writeRefs(DataOutputStream out, List<T> vertices) throws IOException {
+		out.writeInt(vertices.size());
+		for (T vertex : vertices)
+			out.writeLong(getRef(vertex));
+	}
+
+	private synchronized long getAppended() {
+		return appended;
+	}
+
+	/**
+	 * Waits for the record appended at position to be durable, as required by the sync policy.
+	 */
+	void commit(long position) {
+		if (syncPolicy.period == 0)
+			sync(position);
+	}
+
+	// the first committer to get the lock forces everything appended so far, the ones waiting behind it find their record already synced
+	private void sync(long position) {
+		if (synced >= position)
+			return;
+		synchronized (syncLock) {
+			if (synced >= position)
+				return;
+			long target;
+			FileChannel current;
+			synchronized (this) {
+				target = appended;
+				current = channel;
+			}
+			try {
+				if (current != null)
+					current.force(false);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			syncCount++;
+			synced = target;
+		}
+	}
+
+	// forces and closes the current journal file, the next records go to a new one : the ts returned is after the names of the files closed
+	private long roll() {
+		synchronized (syncLock) {
+			synchronized (this) {
+				if (channel != null)
+					try {
+						channel.force(false);
+						channel.close();
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					} finally {
+						channel = null;
+					}
+				synced = appended;
+				return root.pickNewTs();
+			}
+		}
+	}
+
+	private void deleteBefore(String extension, long ts) {
+		try {
+			for (Path path : getFiles(extension).headMap(ts).values())
+				Files.delete(path);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Writes a new snapshot with archiver, and deletes the journal and checkpoint files it covers.
+	 */
+	public void snapshot(Archiver<T, U> archiver) {
+		synchronized (checkpointLock) {
+			long ts;
+			Set<T> snapshotAdded;
+			List<T> snapshotRemoved;
+			synchronized (root.getEngine()) {
+				ts = roll();
+				synchronized (this) {
+					snapshotAdded = added;
+					snapshotRemoved = removed;
+					added = new LinkedHashSet<>();
+					removed = new ArrayList<>();
+				}
+			}
+			try {
+				archiver.snapshot();
+			} catch (RuntimeException e) {
+				restore(snapshotAdded, snapshotRemoved);
+				log.error("Snapshot failed in " + directory + ", its births and deaths are kept for the next checkpoint", e);
+				throw e;
+			}
+			deleteBefore(JOURNAL_EXTENSION, ts);
+			deleteBefore(CHECKPOINT_EXTENSION, ts);
+		}
+	}
+
+	/**
+	 * Starts to write a checkpoint every period.
+	 *
+	 * @param period
+	 *            the period of the checkpoints, in milliseconds
+	 */
+	public void startCheckpoints(long period) {
+		synchronized (checkpointLock) {
+			if (checkpointScheduler != null)
+				throw new IllegalStateException("Checkpoints already started");
+			checkpointScheduler = newScheduler("gs-journal-checkpoint");
+			checkpointScheduler.scheduleWithFixedDelay(() -> {
+				// an exception would cancel the next checkpoints
+				try {
+					checkpoint();
+				} catch (RuntimeException e) {
+					log.error("Checkpoint failed in " + directory + ", retried in " + period + " ms", e);
+				}
+			}, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops the checkpoints started, waiting for the one running to end.
+	 */
+	public void stopCheckpoints() {
+		ScheduledExecutorService stopped;
+		synchronized (checkpointLock) {
+			stopped = checkpointScheduler;
+			checkpointScheduler = null;
+		}
+		if (stopped != null) {
+			stopped.shutdown();
+			try {
+				stopped.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Writes the vertices added and removed since the last checkpoint in a new checkpoint file, and deletes the journal files it covers. The
+	 * writers only wait for the journal file to be closed.
+	 */
+	public void checkpoint() {
+		synchronized (checkpointLock) {
+			long ts;
+			Set<T> checkpointAdded;
+			List<T> checkpointRemoved;
+			synchronized (root.getEngine()) {
+				ts = roll();
+				synchronized (this) {
+					checkpointAdded = added;
+					checkpointRemoved = removed;
+					added = new LinkedHashSet<>();
+					removed = new ArrayList<>();
+				}
+			}
+			if (checkpointAdded.isEmpty() && checkpointRemoved.isEmpty())
+				return;
+			Path part = directory.resolve(ts + PART_EXTENSION);
+			try {
+				try (FileChannel checkpointChannel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(checkpointChannel), 1 << 16));
+					writeCheckpoint(out, checkpointAdded, checkpointRemoved);
+					out.flush();
+					checkpointChannel.force(true);
+				}
+				Files.move(part, directory.resolve(ts + CHECKPOINT_EXTENSION), StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException | RuntimeException e) {
+				restore(checkpointAdded, checkpointRemoved);
+				try {
+					Files.deleteIfExists(part);
+				} catch (IOException deleteException) {
+					e.addSuppressed(deleteException);
+				}
+				throw e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+			}
+			deleteBefore(JOURNAL_EXTENSION, ts);
+			log.info("Checkpoint of " + checkpointAdded.size() + " births and " + checkpointRemoved.size() + " deaths in " + directory);
+		}
+	}
+
+	// gives back the births and deaths of a checkpoint or snapshot that failed : the journal files that hold them are not deleted, the next
+	// checkpoint writes them before the ones tracked since
+	private synchronized void restore(Set<T> previousAdded, List<T> previousRemoved) {
+		for (T remove : removed)
+			if (!previousAdded.remove(remove))
+				previousRemoved.add(remove);
+		previousAdded.addAll(added);
+		added = previousAdded;
+		removed = previousRemoved;
+	}
+
+	private static <T extends AbstractVertex<T, ?>> void writeCheckpoint(DataOutputStream out, Set<T> added, List<T> removed) throws IOException {
+		out.writeInt(added.size());
+		for (T add : added) {
+			LifeManager lifeManager = add.getLifeManager();
+			out.writeLong(getRef(add));
+			out.writeLong(lifeManager.getBirthTs());
+			out.writeBoolean(add.isThrowExistException());
+			out.writeLong(getRef(add.getMeta()));
+			writeRefs(out, add.getSupers());
+			Archiver.writeValue(out, add.getValue());
+			writeRefs(out, add.getComposites());
+		}
+		out.writeInt(removed.size());
+		for (T remove : removed) {
+			out.writeLong(getRef(remove));
+			out.writeLong(remove.getLifeManager().getDeathTs());
+		}
+	}
+
+	private void readCheckpoint(DataInputStream in, LongFunction<T> resolver, Map<Long, T> vertices) throws IOException, ClassNotFoundException {
+		for (int i = in.readInt(); i > 0; i--) {
+			long designTs = in.readLong();
+			long birthTs = in.readLong();
+			add(in, designTs, birthTs, resolver, vertices);
+		}
+		for (int i = in.readInt(); i > 0; i--)
+			kill(resolver.apply(in.readLong()), in.readLong());
+	}
+
+	/**
+	 * Replays the checkpoints written after the restored snapshot, then the journal files written after the last of these checkpoints. Adds of
+	 * known vertices and removes of vertices already dead are skipped, a torn record ends the replay of its file.
+	 *
+	 * @param archiver
+	 *            the archiver of the snapshot restored
+	 * @return the number of records replayed
+	 */
+	public int replay(Archiver<T, U> archiver) {
+		Map<Long, T> vertices = new HashMap<>();
+		vertices.put(ROOT_REF, root.getAlive());
+		LongFunction<T> resolver = ref -> vertices.computeIfAbsent(ref, archiver::getVertex);
+		NavigableMap<Long, Path> checkpoints = getFiles(CHECKPOINT_EXTENSION).tailMap(archiver.getSnapshotTs(), false);
+		for (Path path : checkpoints.values())
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+				readCheckpoint(in, resolver, vertices);
+			} catch (IOException | ClassNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		int count = 0;
+		for (Path path : getFiles(JOURNAL_EXTENSION).tailMap(checkpoints.isEmpty() ? Long.MIN_VALUE : checkpoints.lastKey(), false).values())
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+				byte[] payload;
+				while ((payload = readRecord(in)) != null) {
+					replay(new DataInputStream(new ByteArrayInputStream(payload)), resolver, vertices);
+					count++;
+				}
+			} catch (IOException | ClassNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		log.info("Replayed " + checkpoints.size() + " checkpoints and " + count + " records from " + directory);
+		return count;
+	}
+
+	private static byte[] readRecord(DataInputStream in) throws IOException {
+		if (in.available() < 12)
+			return null;
+		int length = in.readInt();
+		long checksum = in.readLong();
+		if (length < 0 || in.available() < length)
+			return null;
+		byte[] payload = new byte[length];
+		in.readFully(payload);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return crc.getValue() == checksum ? payload : null;
+	}
+
+	private void replay(DataInputStream in, LongFunction<T> resolver, Map<Long, T> vertices) throws IOException, ClassNotFoundException {
+		long ts = in.readLong();
+		List<T> removes = new ArrayList<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			T remove = resolver.apply(in.readLong());
+			if (kill(remove, ts))
+				removes.add(remove);
+		}
+		List<T> adds = new ArrayList<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			T add = add(in, in.readLong(), ts, resolver, vertices);
+			if (add != null)
+				adds.add(add);
+		}
+		// the records replayed go to the next checkpoint, which deletes their journal file
+		track(removes, adds);
+	}
+
+	private boolean kill(T remove, long deathTs) {
+		if (remove == null || remove.getLifeManager().willDie())
+			return false;
+		LifeManager lifeManager = remove.getLifeManager();
+		lifeManager.writeLock();
+		try {
+			lifeManager.restoreDeath(deathTs);
+		} finally {
+			lifeManager.writeUnlock();
+		}
+		root.getGarbageCollector().add(remove);
+		return true;
+	}
+
+	private T add(DataInputStream in, long designTs, long birthTs, LongFunction<T> resolver, Map<Long, T> vertices) throws IOException, ClassNotFoundException {
+		boolean throwExistException = in.readBoolean();
+		T meta = resolver.apply(in.readLong());
+		List<T> supers = readRefs(in, resolver);
+		Serializable value = Archiver.readValue(in);
+		List<T> composites = readRefs(in, resolver);
+		if (resolver.apply(designTs) != null)
+			return null;
+		T add = meta.restoreInstance(designTs, birthTs, birthTs, throwExistException, supers, value, composites);
+		vertices.put(designTs, add);
+		return add;
+	}
+
+	// the reference of the vertex being read is not known yet : null stands for itself
+	private static <T> List<T> readRefs(DataInputStream in, LongFunction<T> resolver) throws IOException {
+		int size = in.readInt();
+		List<T> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			result.add(resolver.apply(in.readLong()));
+		return result;
+	}
+
+	private TreeMap<Long, Path> getFiles(String extension) {
+		TreeMap<Long, Path> files = new TreeMap<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + extension)) {
+			for (Path path : stream) {
+				String name = path.getFileName().toString();
+				files.put(Long.parseLong(name.substring(0, name.length() - extension.length())), path);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return files;
+	}
+
+	/**
+	 * When the records of a journal are forced to the disk : at each commit, periodically, or never (left to the system).
+	 */
+	public static final class SyncPolicy {
+
+		public static final SyncPolicy COMMIT = new SyncPolicy(0L);
+		public static final SyncPolicy NONE = new SyncPolicy(-1L);
+
+		private final long period;
+
+		private SyncPolicy(long period) {
+			this.period = period;
+		}
+
+		/**
+		 * @param period
+		 *            the period of the forces, in milliseconds
+		 */
+		public static SyncPolicy every(long period) {
+			if (period <= 0)
+				throw new IllegalArgumentException("Period must be positive : " + period);
+			return new SyncPolicy(period);
+		}
+
+		@Override
+		public String toString() {
+			return period == 0 ? "COMMIT" : period < 0 ? "NONE" : "EVERY_" + period + "_MS";
+		}
+	}
+}
@@ -12,10 +12,12 @@ public class LifeManager {
 	protected static Logger log = LoggerFactory.getLogger(LifeManager.class);
 
 	private final long designTs;
-	private long birthTs;
+	private volatile long birthTs;
 	private final AtomicLong lastReadTs;
-	private long deathTs;
+	private volatile long deathTs;
 	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	// the ts of the transaction that holds the write lock, Long.MIN_VALUE until it checks mvcc, Long.MAX_VALUE if none
+	private volatile long writerTs = Long.MAX_VALUE;
 
 	public LifeManager(long designTs, long birthTs, long lastReadTs, long deathTs) {
 		this.designTs = designTs;
@@ -45,19 +47,35 @@ public class LifeManager {
 	public boolean isAlive(long contextTs) {
 		if (contextTs < birthTs)
 			return false;
+		if (!markRead(contextTs))
+			return contextTs < deathTs;
 		readLock();
 		try {
-			atomicAdjustLastReadTs(contextTs);
 			return contextTs >= birthTs && contextTs < deathTs;
 		} finally {
 			readUnlock();
 		}
 	}
 
+	/**
+	 * Raises the last read ts to contextTs before a read of this vertex or of its dependencies.
+	 *
+	 * A writer publishes its ts before its mvcc check and writes after it : once the read ts is raised, a writer older than contextTs either
+	 * has written, or will fail its mvcc check. The read is done without lock, unless such a writer is between its check and the end of its
+	 * writes.
+	 *
+	 * @return true if the read must be done under the read lock
+	 */
+	boolean markRead(long contextTs) {
+		atomicAdjustLastReadTs(contextTs);
+		return writerTs < contextTs;
+	}
+
 	void checkMvcc(long contextTs) throws ConcurrencyControlException, OptimisticLockConstraintViolationException {
 		if (deathTs != Long.MAX_VALUE)
 			throw new OptimisticLockConstraintViolationException("Attempt to kill a generic that is already killed by another thread");
 		assert isWriteLockedByCurrentThread();
+		writerTs = contextTs;
 		if (contextTs < lastReadTs.get())
 			throw new ConcurrencyControlException("" + contextTs + " " + lastReadTs.get());
 	}
@@ -71,6 +89,13 @@ public class LifeManager {
 		deathTs = contextTs;
 	}
 
+	// a death replayed from a journal, the reads done while restoring do not apply to it
+	void restoreDeath(long contextTs) {
+		assert isWriteLockedByCurrentThread();
+		assert contextTs >= birthTs : "Can not kill a generic that is not yet born";
+		deathTs = contextTs;
+	}
+
 	void resurect() {
 		assert isWriteLockedByCurrentThread();
 		deathTs = Long.MAX_VALUE;
@@ -90,20 +115,18 @@ public class LifeManager {
 
 	public void atomicAdjustLastReadTs(long contextTs) {
 		long current = lastReadTs.get();
-		if (contextTs <= current)
-			return;
-		for (;;) {
+		while (contextTs > current && !lastReadTs.compareAndSet(current, contextTs))
 			current = lastReadTs.get();
-			if (lastReadTs.compareAndSet(current, contextTs))
-				break;
-		}
 	}
 
 	void writeLock() {
 		lock.writeLock().lock();
+		writerTs = Long.MIN_VALUE;
 	}
 
 	public void writeUnlock() {
+		if (lock.getWriteHoldCount() == 1)
+			writerTs = Long.MAX_VALUE;
 		lock.writeLock().unlock();
 	}
 
@@ -0,0 +1,146 @@
+package org.genericsystem.concurrency;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.genericsystem.api.core.Snapshot.AbstractSnapshot;
+import org.genericsystem.kernel.Dependencies;
+import org.genericsystem.kernel.iterator.AbstractGeneralAwareIterator;
+
+/**
+ * An append only list, read without lock : an element is appended by a CAS on the next link of the last node, and removed by clearing its
+ * node, which is unlinked once it is not the last one.
+ *
+ * An iteration at a ts returns the elements alive at this ts. The owner of the list is marked as read at this ts when the iteration reaches
+ * its end.
+ */
+public abstract class TimestampedDependencies<T> extends AbstractSnapshot<T> implements Dependencies<T> {
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<TimestampedDependencies, Node> TAIL = AtomicReferenceFieldUpdater.newUpdater(TimestampedDependencies.class, Node.class, "tail");
+
+	private final Node<T> head = new Node<>(null);
+	// the last node, or one of its predecessors while an append has not moved it yet
+	private volatile Node<T> tail = head;
+
+	public abstract LifeManager getLifeManager();
+
+	protected abstract boolean isAlive(T element, long ts);
+
+	@Override
+	public void add(T element) {
+		assert !this.contains(element);
+		assert element != null;
+		Node<T> newNode = new Node<>(element);
+		for (;;) {
+			Node<T> last = tail;
+			Node<T> next = last.next;
+			if (next != null)
+				TAIL.compareAndSet(this, last, next);
+			else if (last.casNext(null, newNode)) {
+				TAIL.compareAndSet(this, last, newNode);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public boolean remove(T generic) {
+		assert generic != null : "generic is null";
+		Node<T> previous = head;
+		for (Node<T> node = head.next; node != null; node = node.next) {
+			T content = node.content;
+			if (content == null) {
+				Node<T> next = node.next;
+				if (next != null && previous.casNext(node, next))
+					continue;
+			} else if (generic.equals(content)) {
+				node.content = null;
+				// the last node stays linked, an element may be appended after it
+				Node<T> next = node.next;
+				if (next != null)
+					previous.casNext(node, next);
+				return true;
+			}
+			previous = node;
+		}
+		return false;
+	}
+
+	public Iterator<T> iterator(long ts) {
+		return new InternalIterator(ts);
+	}
+
+	private class InternalIterator extends AbstractGeneralAwareIterator<T, T> {
+
+		private final long ts;
+		private Node<T> current = head;
+
+		private InternalIterator(long iterationTs) {
+			ts = iterationTs;
+		}
+
+		@Override
+		protected void advance() {
+			for (;;) {
+				Node<T> nextNode = current.next;
+				if (nextNode == null && (nextNode = readEnd()) == null) {
+					next = null;
+					return;
+				}
+				current = nextNode;
+				T content = nextNode.content;
+				if (content != null && isAlive(content, ts)) {
+					next = content;
+					return;
+				}
+			}
+		}
+
+		// reads the end of the list again once the read ts of the owner is raised : an older transaction appending later fails its mvcc check
+		private Node<T> readEnd() {
+			LifeManager lifeManager = getLifeManager();
+			if (!lifeManager.markRead(ts))
+				return current.next;
+			lifeManager.readLock();
+			try {
+				return current.next;
+			} finally {
+				lifeManager.readUnlock();
+			}
+		}
+
+		@Override
+		protected T project() {
+			return next;
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (Node<T> node = head.next; node != null; node = node.next)
+			if (node.content != null)
+				return false;
+		return true;
+	}
+
+	private static class Node<T> implements Serializable {
+
+		private static final long serialVersionUID = -8535702315113562916L;
+
+		@SuppressWarnings("rawtypes")
+		private static final AtomicReferenceFieldUpdater<Node, Node> NEXT = AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+		volatile T content;
+		volatile Node<T> next;
+
+		private Node(T content) {
+			this.content = content;
+		}
+
+		private boolean casNext(Node<T> expected, Node<T> update) {
+			return NEXT.compareAndSet(this, expected, update);
+		}
+	}
+}
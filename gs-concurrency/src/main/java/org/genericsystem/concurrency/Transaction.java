@@ -1,6 +1,9 @@
 package org.genericsystem.concurrency;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 import org.genericsystem.api.exception.ConcurrencyControlException;
 import org.genericsystem.api.exception.ConstraintViolationException;
@@ -9,6 +12,9 @@ import org.genericsystem.api.exception.OptimisticLockConstraintViolationExceptio
 public class Transaction<T extends AbstractGeneric<T, U, V, W>, U extends IEngine<T, U, V, W>, V extends AbstractVertex<V, W>, W extends IRoot<V, W>> extends org.genericsystem.cache.Transaction<T, U, V, W> {
 
 	private final long ts;
+	// the structure seen at ts only changes with the modifications applied by this transaction
+	private long revision;
+	private long systemPropertiesRevision;
 
 	// TODO KK sould be protected
 	public Transaction(U engine) {
@@ -30,17 +36,57 @@ public class Transaction<T extends AbstractGeneric<T, U, V, W>, U extends IEngin
 		return vertex != null && vertex.getLifeManager().isAlive(getTs());
 	}
 
+	@Override
+	protected long getRevision() {
+		return revision;
+	}
+
+	@Override
+	protected long getSystemPropertiesRevision() {
+		return systemPropertiesRevision;
+	}
+
 	@Override
 	protected void apply(Iterable<T> adds, Iterable<T> removes) throws ConcurrencyControlException, ConstraintViolationException {
+		revision++;
+		if (isSystemMapModification(adds) || isSystemMapModification(removes))
+			systemPropertiesRevision++;
+		Journal<V, W> journal = getEngine().getJournal();
+		long position;
 		synchronized (getEngine()) {
 			LockedLifeManager lockedLifeManager = new LockedLifeManager();
 			try {
 				lockedLifeManager.writeLockAllAndCheckMvcc(adds, removes);
+				if (journal == null) {
+					super.apply(adds, removes);
+					return;
+				}
+				List<Serializable> values = new ArrayList<>();
+				for (T add : adds)
+					values.add(add.getValue());
+				List<byte[]> encodedValues = journal.prepare(values);
+				List<V> removedVertices = unwrapAll(removes);
 				super.apply(adds, removes);
+				position = journal.append(getTs(), removedVertices, unwrapAll(adds), encodedValues);
 			} finally {
 				lockedLifeManager.writeUnlockAll();
 			}
 		}
+		journal.commit(position);
+	}
+
+	private static <T extends AbstractGeneric<T, ?, ?, ?>> boolean isSystemMapModification(Iterable<T> generics) {
+		for (T generic : generics)
+			if (generic.isSystemMapDependency())
+				return true;
+		return false;
+	}
+
+	private List<V> unwrapAll(Iterable<T> generics) {
+		List<V> vertices = new ArrayList<>();
+		for (T generic : generics)
+			vertices.add(unwrap(generic));
+		return vertices;
 	}
 
 	@Override
@@ -0,0 +1,176 @@
+package org.genericsystem.concurrency;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.genericsystem.kernel.Statics;
+import org.testng.annotations.Test;
+
+@Test
+public class ArchiverTest extends AbstractTest {
+
+	private static String newDirectory() throws IOException {
+		Path directory = Files.createTempDirectory("gs-archive");
+		directory.toFile().deleteOnExit();
+		return directory.toString();
+	}
+
+	private static long countSnapshots(String directoryPath) throws IOException {
+		try (Stream<Path> files = Files.list(Paths.get(directoryPath))) {
+			return files.count();
+		}
+	}
+
+	private static Vertex getVertex(Engine engine, Serializable... path) {
+		Vertex vertex = engine.unwrap();
+		long ts = engine.unwrap().pickNewTs();
+		for (Serializable value : path) {
+			Iterator<Vertex> instances = vertex.getInstances(ts);
+			do
+				vertex = instances.next();
+			while (!value.equals(vertex.getValue()));
+		}
+		return vertex;
+	}
+
+	public void test001_emptyDirectory() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		assert engine.getArchiver().restore() == 0;
+		assert engine.getInstances().stream().noneMatch(x -> "Vehicle".equals(x.getValue()));
+		engine.close();
+		assert countSnapshots(directoryPath) == 1;
+	}
+
+	public void test002_restore() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic car = engine.addInstance(vehicle, "Car");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic color = engine.addInstance("Color");
+		Generic carColor = engine.addInstance("CarColor", car, color);
+		Generic myCar = car.addInstance("myCar");
+		Generic red = color.addInstance("red");
+		power.addInstance(233L, myCar);
+		carColor.addInstance(null, myCar, red);
+		assert engine.addTree("Tree").getMeta().equals(engine.getMetaAttribute());
+		engine.getCurrentCache().flush();
+		long birthTs = getVertex(engine, "Car", "myCar").getLifeManager().getBirthTs();
+		engine.close();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		Generic restoredCar = restored.getInstance("Car");
+		assert restoredVehicle != null && restoredCar != null && restoredCar.inheritsFrom(restoredVehicle);
+		Generic restoredPower = restored.getInstance("Power", restoredVehicle);
+		Generic restoredMyCar = restoredCar.getInstance("myCar");
+		assert restoredMyCar != null;
+		assert getVertex(restored, "Car", "myCar").getLifeManager().getBirthTs() == birthTs;
+		assert restoredMyCar.getHolders(restoredPower).stream().anyMatch(holder -> Long.valueOf(233L).equals(holder.getValue()));
+		Generic restoredCarColor = restored.getInstance("CarColor", restoredCar, restored.getInstance("Color"));
+		assert restoredCarColor.getInstances().size() == 1;
+		assert restoredCarColor.getInstances().stream().findFirst().get().getComposites().get(1).getValue().equals("red");
+		Iterator<Vertex> attributes = restored.unwrap().getMetaAttribute().getInstances(restored.unwrap().pickNewTs());
+		Vertex tree;
+		do
+			tree = attributes.next();
+		while (!"Tree".equals(tree.getValue()));
+		assert tree.getComposites().get(0) == tree;
+	}
+
+	public void test003_removeThenRestore() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		vehicle.addInstance("myVehicle");
+		Generic yourVehicle = vehicle.addInstance("yourVehicle");
+		engine.getCurrentCache().flush();
+		engine.close();
+		yourVehicle.remove();
+		engine.getCurrentCache().flush();
+		engine.close();
+		assert countSnapshots(directoryPath) == 1;
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle.getInstances().size() == 1 && restoredVehicle.getInstance("myVehicle") != null;
+		restoredVehicle.addInstance("ourVehicle");
+		restored.getCurrentCache().flush();
+		restored.close();
+
+		Engine restoredAgain = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		assert restoredAgain.getInstance("Vehicle").getInstances().size() == 2;
+	}
+
+	public void test004_unflushedNotArchived() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		engine.addInstance("Vehicle");
+		engine.close();
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		assert restored.getInstance("Vehicle") == null;
+	}
+
+	private static String archiveVehicles(int count) throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		for (int i = 0; i < count; i++)
+			power.addInstance(i, vehicle.addInstance("myVehicle" + i));
+		engine.getCurrentCache().flush();
+		engine.close();
+		return directoryPath;
+	}
+
+	public void test005_lazyMaterialization() throws IOException {
+		String directoryPath = archiveVehicles(100);
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		int structurals = restored.getArchiver().getMaterializedCount();
+		assert structurals > 0 && structurals < 100 : structurals;
+
+		Generic vehicle = restored.getInstance("Vehicle");
+		Generic myVehicle = vehicle.getInstance("myVehicle7");
+		assert myVehicle != null && vehicle.getInstances().size() == 100;
+		int materialized = restored.getArchiver().getMaterializedCount();
+		assert materialized >= structurals + 100 && materialized < structurals + 200 : materialized;
+
+		Generic power = restored.getInstance("Power", vehicle);
+		assert myVehicle.getHolders(power).stream().anyMatch(holder -> Integer.valueOf(7).equals(holder.getValue()));
+		assert restored.getArchiver().getMaterializedCount() > materialized;
+	}
+
+	public void test006_timeToFirstQuery() throws IOException {
+		String smallPath = archiveVehicles(50);
+		String largePath = archiveVehicles(500);
+		long time = System.nanoTime();
+		Engine small = new Engine(Statics.ENGINE_VALUE, smallPath);
+		assert small.getInstance("Vehicle") != null;
+		long smallTime = System.nanoTime() - time;
+		time = System.nanoTime();
+		Engine large = new Engine(Statics.ENGINE_VALUE, largePath);
+		assert large.getInstance("Vehicle") != null;
+		long largeTime = System.nanoTime() - time;
+		log.info("First query : " + smallTime / 1000 + " us for 50 vehicles, " + largeTime / 1000 + " us for 500 vehicles");
+		assert small.getArchiver().getMaterializedCount() == large.getArchiver().getMaterializedCount();
+	}
+
+	public void test007_parallelDecoding() throws IOException {
+		Engine restored = new Engine(Statics.ENGINE_VALUE, archiveVehicles(300));
+		Generic vehicle = restored.getInstance("Vehicle");
+		Generic power = restored.getInstance("Power", vehicle);
+		assert vehicle.getInstances().size() == 300;
+		for (int i = 0; i < 300; i++) {
+			int value = i;
+			Generic myVehicle = vehicle.getInstance("myVehicle" + i);
+			assert myVehicle.getHolders(power).stream().allMatch(holder -> Integer.valueOf(value).equals(holder.getValue())) : myVehicle.info();
+			assert myVehicle.getHolders(power).size() == 1;
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package org.genericsystem.concurrency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.genericsystem.cache.Cache;
+import org.testng.annotations.Test;
+
+@Test
+public class DependenciesTest extends AbstractTest {
+
+	public void test001_readWhileAppending() throws InterruptedException {
+		Engine engine = new Engine();
+		Generic car = engine.addInstance("Car");
+		for (int i = 0; i < 10; i++)
+			car.addInstance("car" + i);
+		engine.getCurrentCache().flush();
+
+		int readerCount = 4;
+		int writerCount = 2;
+		int commitCount = 20;
+		AtomicBoolean writing = new AtomicBoolean(true);
+		AtomicLong reads = new AtomicLong();
+		List<Thread> readers = new ArrayList<>();
+		List<Thread> writers = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		List<Cache<Generic, Engine, Vertex, Root>> readerCaches = new ArrayList<>();
+		for (int i = 0; i < readerCount; i++)
+			readerCaches.add(engine.newCache());
+		for (Cache<Generic, Engine, Vertex, Root> readerCache : readerCaches)
+			readers.add(new Thread(() -> {
+				try {
+					readerCache.start();
+					do {
+						// the appends of the writers are after the ts of the reader
+						assert car.getInstances().size() == 10;
+						reads.incrementAndGet();
+					} while (writing.get());
+				} catch (Throwable t) {
+					synchronized (errors) {
+						errors.add(t);
+					}
+				}
+			}));
+		for (int i = 0; i < writerCount; i++) {
+			int writer = i;
+			writers.add(new Thread(() -> {
+				try {
+					Cache<Generic, Engine, Vertex, Root> cache = engine.newCache().start();
+					for (int j = 0; j < commitCount; j++) {
+						car.addInstance("car" + writer + "_" + j);
+						cache.flush();
+					}
+				} catch (Throwable t) {
+					synchronized (errors) {
+						errors.add(t);
+					}
+				}
+			}));
+		}
+		long start = System.nanoTime();
+		readers.forEach(Thread::start);
+		writers.forEach(Thread::start);
+		for (Thread thread : writers)
+			thread.join();
+		writing.set(false);
+		for (Thread thread : readers)
+			thread.join();
+		long time = System.nanoTime() - start;
+		assert errors.isEmpty() : errors;
+		log.info(readerCount + " readers : " + reads.get() + " reads of 10 instances in " + time / 1_000_000 + " ms while " + writerCount + " writers append " + writerCount * commitCount + " instances");
+
+		engine.newCache().start();
+		assert car.getInstances().size() == 10 + writerCount * commitCount;
+	}
+
+	public void test002_appendAfterRemove() {
+		Engine engine = new Engine();
+		engine.addInstance("Car");
+		engine.addInstance("Bike");
+		engine.addInstance("Truck");
+		engine.addInstance("Plane");
+		engine.getCurrentCache().flush();
+		Root root = engine.unwrap();
+		Vertex car = root.getInstance("Car");
+		Vertex bike = root.getInstance("Bike");
+		Vertex truck = root.getInstance("Truck");
+		Vertex plane = root.getInstance("Plane");
+		long ts = engine.getCurrentCache().getTs();
+		AbstractDependencies<Vertex> dependencies = new AbstractDependencies<Vertex>() {
+
+			private final LifeManager lifeManager = new LifeManager(0L, 0L, 0L, Long.MAX_VALUE);
+
+			@Override
+			public LifeManager getLifeManager() {
+				return lifeManager;
+			}
+
+			@Override
+			public Iterator<Vertex> iterator() {
+				return iterator(ts);
+			}
+		};
+		assert dependencies.isEmpty();
+		dependencies.add(car);
+		dependencies.add(bike);
+		dependencies.add(truck);
+		assert dependencies.remove(truck);
+		assert !dependencies.remove(truck);
+		dependencies.add(plane);
+		assert Arrays.asList(car, bike, plane).equals(dependencies.stream().collect(Collectors.toList())) : dependencies.info();
+
+		assert dependencies.remove(car);
+		assert dependencies.remove(bike);
+		assert Arrays.asList(plane).equals(dependencies.stream().collect(Collectors.toList())) : dependencies.info();
+		assert dependencies.remove(plane);
+		assert dependencies.isEmpty();
+		dependencies.add(truck);
+		assert Arrays.asList(truck).equals(dependencies.stream().collect(Collectors.toList())) : dependencies.info();
+	}
+
+	public void test003_componentsAtOldTs() {
+		Engine engine = new Engine();
+		engine.addInstance("Vehicle");
+		engine.getCurrentCache().flush();
+		Cache<Generic, Engine, Vertex, Root> oldCache = engine.newCache();
+		Cache<Generic, Engine, Vertex, Root> cache = engine.newCache().start();
+		Generic vehicle = engine.getInstance("Vehicle");
+		engine.addInstance("Power", vehicle);
+		vehicle.addInstance("myVehicle");
+		cache.flush();
+		Vertex vehicleVertex = engine.unwrap().getInstance("Vehicle");
+		assert vehicleVertex.getMetaComponentsDependencies().size() == 1;
+		assert vehicleVertex.getComponents().size() == 1;
+
+		oldCache.start();
+		assert vehicleVertex.getMetaComponentsDependencies().size() == 0 : vehicleVertex.getMetaComponentsDependencies().info();
+		assert !vehicleVertex.getMetaComponentsDependencies().iterator().hasNext();
+		assert vehicleVertex.getComponents().isEmpty();
+	}
+
+	public void test004_readComponentsWhileIndexing() throws InterruptedException {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		engine.addInstance("Power", vehicle);
+		engine.getCurrentCache().flush();
+		Vertex vehicleVertex = engine.unwrap().getInstance("Vehicle");
+
+		int readerCount = 4;
+		int commitCount = 20;
+		AtomicBoolean writing = new AtomicBoolean(true);
+		List<Thread> readers = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		List<Cache<Generic, Engine, Vertex, Root>> readerCaches = new ArrayList<>();
+		for (int i = 0; i < readerCount; i++)
+			readerCaches.add(engine.newCache());
+		for (Cache<Generic, Engine, Vertex, Root> readerCache : readerCaches)
+			readers.add(new Thread(() -> {
+				try {
+					readerCache.start();
+					do {
+						assert vehicleVertex.getMetaComponentsDependencies().size() == 1;
+						assert vehicleVertex.getComponents().size() == 1;
+					} while (writing.get());
+				} catch (Throwable t) {
+					synchronized (errors) {
+						errors.add(t);
+					}
+				}
+			}));
+		Thread writer = new Thread(() -> {
+			try {
+				Cache<Generic, Engine, Vertex, Root> cache = engine.newCache().start();
+				for (int i = 0; i < commitCount; i++) {
+					// each attribute is an other meta of the components of vehicle
+					engine.addInstance("Attribute" + i, vehicle).addInstance("value" + i, vehicle);
+					cache.flush();
+				}
+			} catch (Throwable t) {
+				synchronized (errors) {
+					errors.add(t);
+				}
+			}
+		});
+		readers.forEach(Thread::start);
+		writer.start();
+		writer.join();
+		writing.set(false);
+		for (Thread thread : readers)
+			thread.join();
+		assert errors.isEmpty() : errors;
+
+		engine.newCache().start();
+		assert vehicleVertex.getMetaComponentsDependencies().size() == 1 + commitCount;
+		assert vehicleVertex.getComponents().size() == 1 + 2 * commitCount;
+	}
+
+	public void test005_lastReadTsNeverLowered() throws InterruptedException {
+		LifeManager lifeManager = new LifeManager(0L, 0L, 0L, Long.MAX_VALUE);
+		lifeManager.atomicAdjustLastReadTs(10L);
+		lifeManager.atomicAdjustLastReadTs(5L);
+		assert lifeManager.getLastReadTs() == 10L;
+
+		int readerCount = 4;
+		int readCount = 10000;
+		List<Thread> readers = new ArrayList<>();
+		for (int i = 0; i < readerCount; i++) {
+			int first = i;
+			readers.add(new Thread(() -> {
+				for (int ts = readCount - first; ts > 0; ts -= readerCount)
+					lifeManager.atomicAdjustLastReadTs(ts);
+			}));
+		}
+		for (Thread reader : readers)
+			reader.start();
+		for (Thread reader : readers)
+			reader.join();
+		assert lifeManager.getLastReadTs() == readCount : lifeManager.getLastReadTs();
+	}
+}
@@ -0,0 +1,330 @@
+package org.genericsystem.concurrency;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.genericsystem.concurrency.Journal.SyncPolicy;
+import org.genericsystem.kernel.Statics;
+import org.testng.annotations.Test;
+
+@Test
+public class JournalTest extends AbstractTest {
+
+	private static String newDirectory() throws IOException {
+		Path directory = Files.createTempDirectory("gs-journal");
+		directory.toFile().deleteOnExit();
+		return directory.toString();
+	}
+
+	private static List<Path> getJournalFiles(String directoryPath) throws IOException {
+		return getFiles(directoryPath, ".journal");
+	}
+
+	private static List<Path> getFiles(String directoryPath, String extension) throws IOException {
+		try (Stream<Path> files = Files.list(Paths.get(directoryPath))) {
+			return files.filter(path -> path.toString().endsWith(extension)).collect(Collectors.toList());
+		}
+	}
+
+	public void test001_replayWithoutSnapshot() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic car = engine.addInstance(vehicle, "Car");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myCar = car.addInstance("myCar");
+		power.addInstance(233, myCar);
+		engine.getCurrentCache().flush();
+		assert !getJournalFiles(directoryPath).isEmpty();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		Generic restoredCar = restored.getInstance("Car");
+		assert restoredCar.inheritsFrom(restoredVehicle);
+		Generic restoredMyCar = restoredCar.getInstance("myCar");
+		Generic restoredPower = restored.getInstance("Power", restoredVehicle);
+		assert restoredMyCar.getHolders(restoredPower).stream().anyMatch(holder -> Integer.valueOf(233).equals(holder.getValue()));
+	}
+
+	public void test002_replayOverSnapshot() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		vehicle.addInstance("myVehicle");
+		Generic yourVehicle = vehicle.addInstance("yourVehicle");
+		engine.getCurrentCache().flush();
+		engine.close();
+		assert getJournalFiles(directoryPath).isEmpty();
+		yourVehicle.remove();
+		vehicle.addInstance("ourVehicle");
+		engine.getCurrentCache().flush();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle.getInstances().size() == 2;
+		assert restoredVehicle.getInstance("myVehicle") != null && restoredVehicle.getInstance("ourVehicle") != null;
+		assert restoredVehicle.getInstance("yourVehicle") == null;
+	}
+
+	public void test003_tornRecordIgnored() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		engine.addInstance("Vehicle");
+		engine.getCurrentCache().flush();
+		List<Path> journalFiles = getJournalFiles(directoryPath);
+		assert journalFiles.size() == 1;
+		try (FileChannel channel = FileChannel.open(journalFiles.get(0), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.allocate(20).putInt(100).putLong(0L).putLong(1L).flip());
+		}
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		assert restored.getInstance("Vehicle") != null;
+	}
+
+	public void test004_groupCommit() throws Exception {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath, SyncPolicy.COMMIT);
+		int threadCount = 4;
+		int commitCount = 50;
+		List<Generic> types = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++)
+			types.add(engine.addInstance("Type" + i));
+		engine.getCurrentCache().flush();
+		long syncCount = engine.getJournal().getSyncCount();
+
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		for (Generic type : types)
+			threads.add(new Thread(() -> {
+				try {
+					Cache<Generic, Engine, Vertex, Root> cache = engine.newCache().start();
+					for (int i = 0; i < commitCount; i++) {
+						type.addInstance("instance" + i);
+						cache.flush();
+					}
+				} catch (Throwable t) {
+					synchronized (errors) {
+						errors.add(t);
+					}
+				}
+			}));
+		threads.forEach(Thread::start);
+		for (Thread thread : threads)
+			thread.join();
+		assert errors.isEmpty() : errors;
+		long syncs = engine.getJournal().getSyncCount() - syncCount;
+		assert syncs > 0 && syncs <= threadCount * commitCount : syncs;
+		log.info("Group commit : " + threadCount * commitCount + " commits for " + syncs + " syncs");
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		for (int i = 0; i < threadCount; i++)
+			assert restored.getInstance("Type" + i).getInstances().size() == commitCount;
+	}
+
+	public void test005_syncPolicies() throws IOException {
+		int commitCount = 200;
+		for (SyncPolicy syncPolicy : new SyncPolicy[] { SyncPolicy.COMMIT, SyncPolicy.every(10), SyncPolicy.NONE }) {
+			String directoryPath = newDirectory();
+			Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath, syncPolicy);
+			Generic vehicle = engine.addInstance("Vehicle");
+			engine.getCurrentCache().flush();
+			long time = System.nanoTime();
+			for (int i = 0; i < commitCount; i++) {
+				vehicle.addInstance("myVehicle" + i);
+				engine.getCurrentCache().flush();
+			}
+			time = System.nanoTime() - time;
+			log.info(syncPolicy + " : " + commitCount * 1_000_000_000L / time + " commits/s");
+
+			Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+			assert restored.getInstance("Vehicle").getInstances().size() == commitCount : syncPolicy;
+		}
+	}
+
+	public void test006_checkpoint() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		engine.getJournal().startCheckpoints(Long.MAX_VALUE);
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		power.addInstance(233, myVehicle);
+		Generic yourVehicle = vehicle.addInstance("yourVehicle");
+		engine.getCurrentCache().flush();
+		engine.getJournal().checkpoint();
+		assert getJournalFiles(directoryPath).isEmpty();
+		assert getFiles(directoryPath, ".checkpoint").size() == 1;
+		yourVehicle.remove();
+		Generic ourVehicle = vehicle.addInstance("ourVehicle");
+		engine.getCurrentCache().flush();
+		engine.getJournal().checkpoint();
+		ourVehicle.remove();
+		vehicle.addInstance("theirVehicle");
+		engine.getCurrentCache().flush();
+		assert getFiles(directoryPath, ".checkpoint").size() == 2;
+		assert getJournalFiles(directoryPath).size() == 1;
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle.getInstances().size() == 2 : restoredVehicle.getInstances().info();
+		assert restoredVehicle.getInstance("myVehicle") != null && restoredVehicle.getInstance("theirVehicle") != null;
+		Generic restoredPower = restored.getInstance("Power", restoredVehicle);
+		assert restoredVehicle.getInstance("myVehicle").getHolders(restoredPower).stream().anyMatch(holder -> Integer.valueOf(233).equals(holder.getValue()));
+	}
+
+	public void test007_snapshotDeletesCheckpoints() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		engine.getJournal().startCheckpoints(Long.MAX_VALUE);
+		Generic vehicle = engine.addInstance("Vehicle");
+		vehicle.addInstance("myVehicle");
+		engine.getCurrentCache().flush();
+		engine.getJournal().checkpoint();
+		vehicle.addInstance("yourVehicle");
+		engine.getCurrentCache().flush();
+		engine.close();
+		assert getFiles(directoryPath, ".checkpoint").isEmpty();
+		assert getJournalFiles(directoryPath).isEmpty();
+		vehicle.addInstance("ourVehicle");
+		engine.getCurrentCache().flush();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		assert restored.getInstance("Vehicle").getInstances().size() == 3;
+	}
+
+	public void test008_backgroundCheckpoints() throws Exception {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		engine.getJournal().startCheckpoints(5);
+		Generic vehicle = engine.addInstance("Vehicle");
+		engine.getCurrentCache().flush();
+		int commitCount = 200;
+		for (int i = 0; i < commitCount; i++) {
+			vehicle.addInstance("myVehicle" + i);
+			if (i % 2 == 1)
+				vehicle.getInstance("myVehicle" + (i - 1)).remove();
+			engine.getCurrentCache().flush();
+			if (i % 20 == 0)
+				Thread.sleep(10);
+		}
+		engine.getJournal().stopCheckpoints();
+		assert !getFiles(directoryPath, ".checkpoint").isEmpty();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle.getInstances().size() == commitCount / 2 : restoredVehicle.getInstances().size();
+		for (int i = 1; i < commitCount; i += 2)
+			assert restoredVehicle.getInstance("myVehicle" + i) != null;
+	}
+
+	private static class UnserializableValue implements Serializable {
+
+		private static final long serialVersionUID = 2402207298946208407L;
+
+		@SuppressWarnings("unused")
+		private final Object lock = new Object();
+	}
+
+	public void test009_unencodableValueNotApplied() throws IOException {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		engine.getCurrentCache().flush();
+
+		myVehicle.remove();
+		vehicle.addInstance("yourVehicle");
+		vehicle.addInstance(new UnserializableValue());
+		new RollbackCatcher() {
+			@Override
+			public void intercept() {
+				engine.getCurrentCache().flush();
+			}
+		}.assertIsCausedBy(IllegalStateException.class);
+
+		engine.newCache().start();
+		assert vehicle.getInstances().size() == 1 && vehicle.getInstances().contains(myVehicle) : vehicle.getInstances();
+		assert engine.unwrap().getInstance("Vehicle").getInstances().size() == 1;
+		vehicle.addInstance("yourVehicle");
+		engine.getCurrentCache().flush();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle.getInstances().size() == 2 : restoredVehicle.getInstances();
+		assert restoredVehicle.getInstance("myVehicle") != null && restoredVehicle.getInstance("yourVehicle") != null;
+	}
+
+	public void test010_failedAppendRefusesCommits() throws Exception {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic vehicle = engine.addInstance("Vehicle");
+		vehicle.addInstance("myVehicle");
+		engine.getCurrentCache().flush();
+
+		Field channelField = Journal.class.getDeclaredField("channel");
+		channelField.setAccessible(true);
+		((FileChannel) channelField.get(engine.getJournal())).close();
+		vehicle.addInstance("yourVehicle");
+		new RollbackCatcher() {
+			@Override
+			public void intercept() {
+				engine.getCurrentCache().flush();
+			}
+		}.assertIsCausedBy(IllegalStateException.class);
+
+		engine.newCache().start();
+		vehicle.addInstance("ourVehicle");
+		new RollbackCatcher() {
+			@Override
+			public void intercept() {
+				engine.getCurrentCache().flush();
+			}
+		}.assertIsCausedBy(IllegalStateException.class);
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle.getInstances().size() == 1 : restoredVehicle.getInstances();
+		assert restoredVehicle.getInstance("myVehicle") != null;
+	}
+
+	public void test011_failedCheckpointKeepsRecords() throws Exception {
+		String directoryPath = newDirectory();
+		Engine engine = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		engine.getJournal().startCheckpoints(Long.MAX_VALUE);
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		engine.getCurrentCache().flush();
+
+		Field directoryField = Journal.class.getDeclaredField("directory");
+		directoryField.setAccessible(true);
+		directoryField.set(engine.getJournal(), Paths.get(directoryPath, "missing"));
+		try {
+			engine.getJournal().checkpoint();
+			assert false;
+		} catch (IllegalStateException ignore) {}
+		directoryField.set(engine.getJournal(), Paths.get(directoryPath));
+
+		myVehicle.remove();
+		vehicle.addInstance("yourVehicle");
+		engine.getCurrentCache().flush();
+		engine.getJournal().checkpoint();
+		engine.getJournal().stopCheckpoints();
+		assert getJournalFiles(directoryPath).isEmpty();
+
+		Engine restored = new Engine(Statics.ENGINE_VALUE, directoryPath);
+		Generic restoredVehicle = restored.getInstance("Vehicle");
+		assert restoredVehicle != null;
+		assert restoredVehicle.getInstances().size() == 1 && restoredVehicle.getInstance("yourVehicle") != null : restoredVehicle.getInstances();
+	}
+}
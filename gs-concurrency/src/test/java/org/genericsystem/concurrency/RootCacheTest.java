@@ -0,0 +1,47 @@
+package org.genericsystem.concurrency;
+
+import org.genericsystem.kernel.RootCache;
+import org.testng.annotations.Test;
+
+@Test
+public class RootCacheTest extends AbstractTest {
+
+	public void test001_repeatedReadsAreHits() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Generic v233 = power.addInstance(233, myVehicle);
+		engine.getCurrentCache().flush();
+		RootCache<Generic> rootCache = engine.getRootCache();
+		assert myVehicle.getHolders(power).contains(v233);
+		long hits = rootCache.getHits();
+		long misses = rootCache.getMisses();
+		for (int i = 0; i < 10; i++)
+			assert myVehicle.getHolders(power).size() == 1;
+		assert rootCache.getHits() == hits + 10 : rootCache.getHits() - hits;
+		assert rootCache.getMisses() == misses;
+	}
+
+	public void test002_resultsOfTheTsOfEachCache() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		Cache<Generic, Engine, Vertex, Root> cache = engine.getCurrentCache();
+		cache.flush();
+		Cache<Generic, Engine, Vertex, Root> otherCache = engine.newCache().start();
+		cache.start();
+		assert myVehicle.getHolders(power).isEmpty();
+
+		otherCache.start();
+		Generic v233 = power.addInstance(233, myVehicle);
+		otherCache.flush();
+		assert myVehicle.getHolders(power).contains(v233);
+
+		cache.start();
+		assert myVehicle.getHolders(power).isEmpty() : myVehicle.getHolders(power);
+		cache.pickNewTs();
+		assert myVehicle.getHolders(power).contains(v233) : myVehicle.getHolders(power);
+	}
+}
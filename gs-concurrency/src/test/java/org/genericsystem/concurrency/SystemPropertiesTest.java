@@ -1,5 +1,6 @@
 package org.genericsystem.concurrency;
 
+import org.genericsystem.kernel.Statics;
 import org.testng.annotations.Test;
 
 @Test
@@ -69,4 +70,42 @@ public class SystemPropertiesTest extends AbstractTest {
 
 	}
 
+	public void test003_flagsOfEachCache() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic color = engine.addInstance("Color");
+		Generic vehicleColor = engine.addInstance("VehicleColor", vehicle, color);
+		Cache<Generic, Engine, Vertex, Root> cache = engine.getCurrentCache();
+		cache.flush();
+		Cache<Generic, Engine, Vertex, Root> otherCache = engine.newCache().start();
+		cache.start();
+		assert !vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+
+		otherCache.start();
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		assert vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+		otherCache.flush();
+		assert vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+
+		cache.start();
+		assert !vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+		otherCache.start();
+		assert vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+		cache.start();
+		cache.pickNewTs();
+		assert vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+	}
+
+	public void test004_flagsAfterClear() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Cache<Generic, Engine, Vertex, Root> cache = engine.getCurrentCache();
+		cache.flush();
+		assert !power.isPropertyConstraintEnabled();
+		power.enablePropertyConstraint();
+		assert power.isPropertyConstraintEnabled();
+		cache.clear();
+		assert !power.isPropertyConstraintEnabled();
+	}
 }
@@ -1,15 +1,17 @@
 package org.genericsystem.impl;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.genericsystem.api.core.ISignature;
+import org.genericsystem.api.core.SizedSnapshot;
 import org.genericsystem.api.core.Snapshot;
 import org.genericsystem.impl.annotations.InstanceClass;
 import org.genericsystem.impl.annotations.SystemGeneric;
 import org.genericsystem.kernel.AbstractVertex;
 import org.genericsystem.kernel.Dependencies;
-import org.genericsystem.kernel.Dependencies.DependenciesEntry;
+import org.genericsystem.kernel.DependenciesMap;
 import org.genericsystem.kernel.systemproperty.constraints.Constraint.CheckingType;
 import org.genericsystem.kernel.DefaultRoot;
 
@@ -45,6 +47,8 @@ public abstract class AbstractGeneric<T extends AbstractGeneric<T, U, V, W>, U e
 			return true;
 		if (!(obj instanceof ISignature<?>))
 			return false;
+		if (obj instanceof AbstractGeneric && hashCode() != obj.hashCode())
+			return false;
 		ISignature<?> service = (ISignature<?>) obj;
 		return equals(service.getMeta(), service.getSupers(), service.getValue(), service.getComposites());
 	}
@@ -57,10 +61,28 @@ public abstract class AbstractGeneric<T extends AbstractGeneric<T, U, V, W>, U e
 		super.remove();
 	}
 
+	private int hashCode;
+
+	/**
+	 * A structural hash of the meta, the value and the composites, the same for all the generics equal to this one.
+	 *
+	 * Meta, value and composites never change after init : the hash is computed once and kept, and generics with a null or a shared value
+	 * (links, holders) spread over distinct buckets. A self composite stands for itself as in equals and hashes to a constant. Supers are left
+	 * out of the hash, equals compares them anyway.
+	 */
 	@Override
 	public int hashCode() {
-		// TODO introduce : meta and components length
-		return Objects.hashCode(getValue());
+		int result = hashCode;
+		if (result == 0) {
+			result = isRoot() ? 0 : getMeta().hashCode();
+			result = 31 * result + Objects.hashCode(getValue());
+			for (T composite : getComposites())
+				result = 31 * result + (composite == this ? 1 : composite.hashCode());
+			if (result == 0)
+				result = 1;
+			hashCode = result;
+		}
+		return result;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -103,12 +125,12 @@ public abstract class AbstractGeneric<T extends AbstractGeneric<T, U, V, W>, U e
 
 	@Override
 	public Snapshot<T> getInstances() {
-		return () -> unwrap().getInstances().stream().map(this::wrap).iterator();
+		return SizedSnapshot.map(() -> unwrap().getInstances(), this::wrap);
 	}
 
 	@Override
 	public Snapshot<T> getInheritings() {
-		return () -> unwrap().getInheritings().stream().map(this::wrap).iterator();
+		return SizedSnapshot.map(() -> unwrap().getInheritings(), this::wrap);
 	}
 
 	// TODO remove this method ?
@@ -119,12 +141,12 @@ public abstract class AbstractGeneric<T extends AbstractGeneric<T, U, V, W>, U e
 
 	@Override
 	public Snapshot<T> getMetaComponents(T meta) {
-		return () -> unwrap().getMetaComponents(meta.unwrap()).stream().map(this::wrap).iterator();
+		return SizedSnapshot.map(() -> unwrap().getMetaComponents(meta.unwrap()), this::wrap);
 	}
 
 	@Override
 	public Snapshot<T> getSuperComponents(T superT) {
-		return () -> unwrap().getSuperComponents(superT.unwrap()).stream().map(this::wrap).iterator();
+		return SizedSnapshot.map(() -> unwrap().getSuperComponents(superT.unwrap()), this::wrap);
 	}
 
 	@Override
@@ -138,12 +160,22 @@ public abstract class AbstractGeneric<T extends AbstractGeneric<T, U, V, W>, U e
 	}
 
 	@Override
-	protected Dependencies<DependenciesEntry<T>> getMetaComponentsDependencies() {
+	protected boolean isInstancesByValueIndexed() {
+		return false;
+	}
+
+	@Override
+	protected Map<Object, Dependencies<T>> getInstancesByValueDependencies() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected DependenciesMap<T> getMetaComponentsDependencies() {
 		throw new UnsupportedOperationException();
 	}
 
 	@Override
-	protected Dependencies<DependenciesEntry<T>> getSuperComponentsDependencies() {
+	protected DependenciesMap<T> getSuperComponentsDependencies() {
 		throw new UnsupportedOperationException();
 	}
 
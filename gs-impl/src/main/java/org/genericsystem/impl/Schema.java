@@ -0,0 +1,51 @@
+package org.genericsystem.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * The descriptors of the @SystemGeneric classes of a package, generated at build time by the annotation processor of gs-processor.
+ *
+ * The generated schemas are registered as services : they are loaded with no reflection on the annotations nor scan of the classpath. Each class
+ * loader sees its own schemas, a SchemaRegistry keeps the ones it has loaded.
+ */
+public abstract class Schema {
+
+	private final Map<Class<?>, SystemGenericDescriptor> packageDescriptors = new LinkedHashMap<>();
+
+	protected void add(SystemGenericDescriptor descriptor) {
+		packageDescriptors.put(descriptor.getDescribedClass(), descriptor);
+	}
+
+	/**
+	 * @return the class of the given binary name, loaded with this schema
+	 */
+	protected Class<?> type(String name) {
+		try {
+			return Class.forName(name, false, getClass().getClassLoader());
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(getClass().getName() + " is out of date : " + name + " not found", e);
+		}
+	}
+
+	/**
+	 * @return the descriptors of this schema
+	 */
+	public Collection<SystemGenericDescriptor> getDescriptors() {
+		return Collections.unmodifiableCollection(packageDescriptors.values());
+	}
+
+	/**
+	 * @return the descriptors of all the generated schemas visible from classLoader, by described class
+	 */
+	public static Map<Class<?>, SystemGenericDescriptor> load(ClassLoader classLoader) {
+		Map<Class<?>, SystemGenericDescriptor> result = new HashMap<>();
+		for (Schema schema : ServiceLoader.load(Schema.class, classLoader))
+			result.putAll(schema.packageDescriptors);
+		return Collections.unmodifiableMap(result);
+	}
+}
@@ -0,0 +1,38 @@
+package org.genericsystem.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The generated schemas seen by the classes to describe : the schemas of a class are the ones visible from its class loader, loaded once for
+ * each class loader. A registry is meant to live as long as its engine, it holds no class loader beyond.
+ */
+public class SchemaRegistry {
+
+	private final Map<ClassLoader, Map<Class<?>, SystemGenericDescriptor>> descriptors = new HashMap<>();
+
+	/**
+	 * @return the descriptors of the generated schemas visible from classLoader, by described class
+	 */
+	public synchronized Map<Class<?>, SystemGenericDescriptor> getDescriptors(ClassLoader classLoader) {
+		if (classLoader == null)
+			return Collections.emptyMap();
+		return descriptors.computeIfAbsent(classLoader, Schema::load);
+	}
+
+	/**
+	 * @return the generated descriptor of clazz, or null if clazz has none
+	 */
+	public SystemGenericDescriptor find(Class<?> clazz) {
+		return getDescriptors(clazz.getClassLoader()).get(clazz);
+	}
+
+	/**
+	 * @return the descriptor of clazz, generated or read from its annotations
+	 */
+	public SystemGenericDescriptor describe(Class<?> clazz) {
+		SystemGenericDescriptor descriptor = find(clazz);
+		return descriptor != null ? descriptor : SystemGenericDescriptor.reflect(clazz);
+	}
+}
@@ -1,15 +1,9 @@
 package org.genericsystem.impl;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
-import org.genericsystem.impl.annotations.Composites;
-import org.genericsystem.impl.annotations.Meta;
-import org.genericsystem.impl.annotations.value.BooleanValue;
-import org.genericsystem.impl.annotations.value.IntValue;
-import org.genericsystem.impl.annotations.value.StringValue;
 import org.genericsystem.kernel.AbstractVertex.SystemMap;
 import org.genericsystem.kernel.Root;
 import org.genericsystem.kernel.Root.MetaAttribute;
@@ -22,6 +16,8 @@ public class SystemCache<T extends AbstractGeneric<T, ?, ?, ?>> extends HashMap<
 
 	private final T root;
 
+	private final transient SchemaRegistry schemas = new SchemaRegistry();
+
 	public SystemCache(T root) {
 		this.root = root;
 		put(Root.class, root);
@@ -43,48 +39,21 @@ public class SystemCache<T extends AbstractGeneric<T, ?, ?, ?>> extends HashMap<
 			assert systemProperty.isAlive();
 			return systemProperty;
 		}
-		T result = setMeta(clazz).bindInstance(clazz, false, setOverrides(clazz), findValue(clazz), setComposites(clazz));
+		SystemGenericDescriptor descriptor = schemas.describe(clazz);
+		T result = setMeta(descriptor).bindInstance(clazz, false, set(descriptor.getSupers()), descriptor.getValue(), set(descriptor.getComposites()));
 		put(clazz, result);
 		return result;
 	}
 
-	private T setMeta(Class<?> clazz) {
-		Meta meta = clazz.getAnnotation(Meta.class);
-		return meta == null ? (T) root : set(meta.value());
-	}
-
-	private List<T> setOverrides(Class<?> clazz) {
-		List<T> overridesVertices = new ArrayList<>();
-		org.genericsystem.impl.annotations.Supers supersAnnotation = clazz.getAnnotation(org.genericsystem.impl.annotations.Supers.class);
-		if (supersAnnotation != null)
-			for (Class<?> overrideClass : supersAnnotation.value())
-				overridesVertices.add(set(overrideClass));
-		return overridesVertices;
-	}
-
-	private static Serializable findValue(Class<?> clazz) {
-		BooleanValue booleanValue = clazz.getAnnotation(BooleanValue.class);
-		if (booleanValue != null)
-			return booleanValue.value();
-
-		IntValue intValue = clazz.getAnnotation(IntValue.class);
-		if (intValue != null)
-			return intValue.value();
-
-		StringValue stringValue = clazz.getAnnotation(StringValue.class);
-		if (stringValue != null)
-			return stringValue.value();
-
-		return clazz;
+	private T setMeta(SystemGenericDescriptor descriptor) {
+		return descriptor.getMeta() == null ? (T) root : set(descriptor.getMeta());
 	}
 
-	private List<T> setComposites(Class<?> clazz) {
-		List<T> composites = new ArrayList<>();
-		Composites compositesAnnotation = clazz.getAnnotation(Composites.class);
-		if (compositesAnnotation != null)
-			for (Class<?> componentClass : compositesAnnotation.value())
-				composites.add(set(componentClass));
-		return composites;// root.coerceToArray(components.toArray());
+	private List<T> set(List<Class<?>> classes) {
+		List<T> generics = new ArrayList<>(classes.size());
+		for (Class<?> clazz : classes)
+			generics.add(set(clazz));
+		return generics;
 	}
 
 }
@@ -0,0 +1,171 @@
+package org.genericsystem.impl;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.genericsystem.impl.annotations.Composites;
+import org.genericsystem.impl.annotations.Meta;
+import org.genericsystem.impl.annotations.NoInheritance;
+import org.genericsystem.impl.annotations.Supers;
+import org.genericsystem.impl.annotations.constraints.InstanceValueClassConstraint;
+import org.genericsystem.impl.annotations.constraints.PropertyConstraint;
+import org.genericsystem.impl.annotations.constraints.RequiredConstraint;
+import org.genericsystem.impl.annotations.constraints.SingletonConstraint;
+import org.genericsystem.impl.annotations.constraints.SingularConstraint;
+import org.genericsystem.impl.annotations.constraints.SizeConstraint;
+import org.genericsystem.impl.annotations.constraints.UniqueValueConstraint;
+import org.genericsystem.impl.annotations.constraints.VirtualConstraint;
+import org.genericsystem.impl.annotations.value.BooleanValue;
+import org.genericsystem.impl.annotations.value.IntValue;
+import org.genericsystem.impl.annotations.value.StringValue;
+
+/**
+ * The schema metadata a class declares with its annotations : its meta, supers, composites, value and constraints.
+ *
+ * The descriptors of the @SystemGeneric classes are generated at build time by the annotation processor of gs-processor and registered in a
+ * {@link Schema}. Other classes are described by reflection on their annotations.
+ */
+public class SystemGenericDescriptor {
+
+	private final Class<?> clazz;
+	private final Class<?> meta;
+	private final List<Class<?>> supers;
+	private final List<Class<?>> composites;
+	private final Serializable value;
+	private final Map<Class<? extends Annotation>, Serializable> constraints = new LinkedHashMap<>();
+
+	/**
+	 * @param meta
+	 *            the meta class, or null for the root
+	 * @param value
+	 *            the value, clazz if none is declared
+	 */
+	public SystemGenericDescriptor(Class<?> clazz, Class<?> meta, Class<?>[] supers, Class<?>[] composites, Serializable value) {
+		this.clazz = Objects.requireNonNull(clazz);
+		this.meta = meta;
+		this.supers = Collections.unmodifiableList(Arrays.asList(supers));
+		this.composites = Collections.unmodifiableList(Arrays.asList(composites));
+		this.value = value;
+	}
+
+	/**
+	 * @param constraint
+	 *            a constraint annotation type
+	 * @param constraintValue
+	 *            the value of the annotation, null if it has none
+	 * @return this descriptor
+	 */
+	public SystemGenericDescriptor addConstraint(Class<? extends Annotation> constraint, Serializable constraintValue) {
+		constraints.put(constraint, constraintValue);
+		return this;
+	}
+
+	/**
+	 * @return the descriptor of clazz read from its annotations
+	 */
+	public static SystemGenericDescriptor reflect(Class<?> clazz) {
+		Meta meta = clazz.getAnnotation(Meta.class);
+		Supers supers = clazz.getAnnotation(Supers.class);
+		Composites composites = clazz.getAnnotation(Composites.class);
+		SystemGenericDescriptor descriptor = new SystemGenericDescriptor(clazz, meta != null ? meta.value() : null, supers != null ? supers.value() : new Class<?>[] {}, composites != null ? composites.value() : new Class<?>[] {}, findValue(clazz));
+		if (clazz.getAnnotation(PropertyConstraint.class) != null)
+			descriptor.addConstraint(PropertyConstraint.class, null);
+		RequiredConstraint required = clazz.getAnnotation(RequiredConstraint.class);
+		if (required != null)
+			descriptor.addConstraint(RequiredConstraint.class, required.value());
+		if (clazz.getAnnotation(SingletonConstraint.class) != null)
+			descriptor.addConstraint(SingletonConstraint.class, null);
+		SingularConstraint singular = clazz.getAnnotation(SingularConstraint.class);
+		if (singular != null)
+			descriptor.addConstraint(SingularConstraint.class, singular.value());
+		SizeConstraint size = clazz.getAnnotation(SizeConstraint.class);
+		if (size != null)
+			descriptor.addConstraint(SizeConstraint.class, size.value());
+		if (clazz.getAnnotation(UniqueValueConstraint.class) != null)
+			descriptor.addConstraint(UniqueValueConstraint.class, null);
+		if (clazz.getAnnotation(VirtualConstraint.class) != null)
+			descriptor.addConstraint(VirtualConstraint.class, null);
+		InstanceValueClassConstraint instanceValueClass = clazz.getAnnotation(InstanceValueClassConstraint.class);
+		if (instanceValueClass != null)
+			descriptor.addConstraint(InstanceValueClassConstraint.class, instanceValueClass.value());
+		if (clazz.getAnnotation(NoInheritance.class) != null)
+			descriptor.addConstraint(NoInheritance.class, null);
+		return descriptor;
+	}
+
+	private static Serializable findValue(Class<?> clazz) {
+		BooleanValue booleanValue = clazz.getAnnotation(BooleanValue.class);
+		if (booleanValue != null)
+			return booleanValue.value();
+
+		IntValue intValue = clazz.getAnnotation(IntValue.class);
+		if (intValue != null)
+			return intValue.value();
+
+		StringValue stringValue = clazz.getAnnotation(StringValue.class);
+		if (stringValue != null)
+			return stringValue.value();
+
+		return clazz;
+	}
+
+	public Class<?> getDescribedClass() {
+		return clazz;
+	}
+
+	public Class<?> getMeta() {
+		return meta;
+	}
+
+	public List<Class<?>> getSupers() {
+		return supers;
+	}
+
+	public List<Class<?>> getComposites() {
+		return composites;
+	}
+
+	public Serializable getValue() {
+		return value;
+	}
+
+	/**
+	 * @return the constraint annotations of the class, with their value or null
+	 */
+	public Map<Class<? extends Annotation>, Serializable> getConstraints() {
+		return Collections.unmodifiableMap(constraints);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SystemGenericDescriptor))
+			return false;
+		SystemGenericDescriptor descriptor = (SystemGenericDescriptor) obj;
+		if (!clazz.equals(descriptor.clazz) || !Objects.equals(meta, descriptor.meta) || !supers.equals(descriptor.supers) || !composites.equals(descriptor.composites) || !Objects.equals(value, descriptor.value))
+			return false;
+		if (!constraints.keySet().equals(descriptor.constraints.keySet()))
+			return false;
+		for (Map.Entry<Class<? extends Annotation>, Serializable> constraint : constraints.entrySet())
+			if (!Objects.deepEquals(constraint.getValue(), descriptor.constraints.get(constraint.getKey())))
+				return false;
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return clazz.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return clazz.getName() + " : meta " + meta + ", supers " + supers + ", composites " + composites + ", value " + value + ", constraints " + constraints.keySet();
+	}
+}
@@ -173,6 +173,17 @@ public class GenericTest extends AbstractTest {
 		// vehicleVertex.getMetaComposites(root).forEach(mc -> mc.log());
 	}
 
+	public void testCategory() {
+		Engine engine = new Engine();
+		Generic vehicle = engine.addInstance("Vehicle");
+		Generic power = engine.addInstance("Power", vehicle);
+		Generic myVehicle = vehicle.addInstance("myVehicle");
+		assert vehicle.getCategory().equals("Type");
+		assert power.getCategory().equals("Attribute");
+		assert myVehicle.getCategory().equals("Instance");
+		assert power.detailedInfo().contains(" Category    : Attribute\n") : power.detailedInfo();
+	}
+
 	// public void unwrapDependenciesTest2() {
 	// Engine engine = new Engine();
 	// Generic vehicle = engine.addInstance("Vehicle");
@@ -0,0 +1,102 @@
+package org.genericsystem.impl;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.genericsystem.impl.AnnotationTest.ChildrenGames;
+import org.genericsystem.impl.AnnotationTest.Games;
+import org.genericsystem.impl.AnnotationTest.Human;
+import org.genericsystem.impl.AnnotationTest.HumanPossessVehicle;
+import org.genericsystem.impl.AnnotationTest.Vehicle;
+import org.genericsystem.impl.annotations.Composites;
+import org.genericsystem.impl.annotations.Meta;
+import org.genericsystem.impl.annotations.SystemGeneric;
+import org.genericsystem.impl.annotations.constraints.InstanceValueClassConstraint;
+import org.genericsystem.impl.annotations.constraints.PropertyConstraint;
+import org.genericsystem.impl.annotations.constraints.RequiredConstraint;
+import org.genericsystem.impl.annotations.value.IntValue;
+import org.genericsystem.impl.annotations.value.StringValue;
+import org.testng.annotations.Test;
+
+@Test
+public class SchemaTest extends AbstractTest {
+
+	public void test001_generated() {
+		Map<Class<?>, SystemGenericDescriptor> descriptors = new SchemaRegistry().getDescriptors(SchemaTest.class.getClassLoader());
+		assert descriptors.keySet().containsAll(Arrays.asList(Vehicle.class, ChildrenGames.class, HumanPossessVehicle.class, Color.class, Red.class));
+		descriptors.forEach((clazz, descriptor) -> {
+			assert descriptor.equals(SystemGenericDescriptor.reflect(clazz)) : descriptor + " " + SystemGenericDescriptor.reflect(clazz);
+		});
+	}
+
+	public void test002_descriptor() {
+		SchemaRegistry schemas = new SchemaRegistry();
+		SystemGenericDescriptor games = schemas.find(ChildrenGames.class);
+		assert games.getMeta() == null && games.getValue() == ChildrenGames.class;
+		assert games.getSupers().equals(Arrays.asList(Games.class, AnnotationTest.Children.class));
+		assert schemas.find(HumanPossessVehicle.class).getComposites().equals(Arrays.asList(Human.class, Vehicle.class));
+
+		SystemGenericDescriptor red = schemas.find(Red.class);
+		assert red.getMeta() == Color.class && "red".equals(red.getValue());
+		SystemGenericDescriptor wheels = schemas.find(Wheels.class);
+		assert Integer.valueOf(4).equals(wheels.getValue());
+		assert wheels.getConstraints().containsKey(PropertyConstraint.class) && wheels.getConstraints().get(PropertyConstraint.class) == null;
+		assert Arrays.equals((int[]) wheels.getConstraints().get(RequiredConstraint.class), new int[] { 0, 1 });
+		// inherited from Wheels
+		assert schemas.find(SpareWheels.class).getConstraints().get(InstanceValueClassConstraint.class) == Integer.class;
+	}
+
+	public void test003_notAccessible() {
+		SchemaRegistry schemas = new SchemaRegistry();
+		assert schemas.find(Hidden.class) == null;
+		assert schemas.describe(Hidden.class).getMeta() == Color.class;
+	}
+
+	public void test004_engine() {
+		Engine engine = new Engine(Red.class, Wheels.class);
+		assert engine.find(Red.class).getMeta() == engine.find(Color.class);
+		assert "red".equals(engine.find(Red.class).getValue());
+		assert engine.find(Wheels.class).getComposites().get(0) == engine.find(Vehicle.class);
+	}
+
+	public void test005_schemasOfEachClassLoader() throws IOException {
+		SchemaRegistry schemas = new SchemaRegistry();
+		assert !schemas.getDescriptors(SchemaTest.class.getClassLoader()).isEmpty();
+		try (URLClassLoader isolated = new URLClassLoader(new URL[0], null)) {
+			assert schemas.getDescriptors(isolated).isEmpty();
+		}
+		assert schemas.getDescriptors(SchemaTest.class.getClassLoader()) == schemas.getDescriptors(SchemaTest.class.getClassLoader());
+	}
+
+	@SystemGeneric
+	public static class Color extends Generic {
+	}
+
+	@SystemGeneric
+	@Meta(Color.class)
+	@StringValue("red")
+	public static class Red extends Generic {
+	}
+
+	@SystemGeneric
+	@Composites(Vehicle.class)
+	@IntValue(4)
+	@PropertyConstraint
+	@RequiredConstraint({ 0, 1 })
+	@InstanceValueClassConstraint(Integer.class)
+	public static class Wheels extends Generic {
+	}
+
+	@SystemGeneric
+	@Composites(Vehicle.class)
+	public static class SpareWheels extends Wheels {
+	}
+
+	@SystemGeneric
+	@Meta(Color.class)
+	private static class Hidden extends Generic {
+	}
+}
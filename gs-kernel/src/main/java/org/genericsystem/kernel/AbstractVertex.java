@@ -1,23 +1,32 @@
 package org.genericsystem.kernel;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.genericsystem.api.core.ISignature;
 import org.genericsystem.api.core.IVertex;
+import org.genericsystem.api.core.IVertex.SystemProperty;
+import org.genericsystem.api.core.SizedSnapshot;
 import org.genericsystem.api.core.Snapshot;
 import org.genericsystem.api.exception.AliveConstraintViolationException;
 import org.genericsystem.api.exception.AmbiguousSelectionException;
@@ -27,11 +36,16 @@ import org.genericsystem.api.exception.CrossEnginesAssignementsException;
 import org.genericsystem.api.exception.ExistsException;
 import org.genericsystem.api.exception.NotFoundException;
 import org.genericsystem.api.exception.ReferentialIntegrityConstraintViolationException;
-import org.genericsystem.kernel.Dependencies.DependenciesEntry;
+import org.genericsystem.kernel.EmptyDependencies.DependenciesView;
 import org.genericsystem.kernel.Statics.Supers;
 import org.genericsystem.kernel.systemproperty.AxedPropertyClass;
+import org.genericsystem.kernel.systemproperty.CascadeRemoveProperty;
+import org.genericsystem.kernel.systemproperty.NoReferentialIntegrityProperty;
 import org.genericsystem.kernel.systemproperty.constraints.Constraint;
 import org.genericsystem.kernel.systemproperty.constraints.Constraint.CheckingType;
+import org.genericsystem.kernel.systemproperty.constraints.PropertyConstraint;
+import org.genericsystem.kernel.systemproperty.constraints.RequiredConstraint;
+import org.genericsystem.kernel.systemproperty.constraints.SingularConstraint;
 
 public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> implements DefaultVertex<T, U> {
 
@@ -39,6 +53,13 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 	private List<T> composites;
 	private Serializable value;
 	private boolean throwExistException;
+	private U root;
+	private byte level;
+	private String category;
+	private int id = -1;
+
+	// short string values, such as names and codes, are often repeated : equal ones share one instance, longer ones are kept as given
+	private static final int MAX_INTERNED_LENGTH = 32;
 
 	@SuppressWarnings("unchecked")
 	protected T init(boolean throwExistException, T meta, Serializable value, List<T> composites) {
@@ -48,16 +69,20 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 			this.meta = meta;
 		} else
 			this.meta = (T) this;
-		this.value = value;
-		this.composites = new ArrayList<>(composites);
+		this.value = value instanceof String && ((String) value).length() <= MAX_INTERNED_LENGTH ? ((String) value).intern() : value;
+		List<T> notNullComposites = new ArrayList<>(composites);
 		for (int i = 0; i < composites.size(); i++) {
 			T composite = composites.get(i);
-			if (composite != null) {
+			if (composite != null)
 				composite.checkIsAlive();
-				this.composites.set(i, composite);
-			} else
-				this.composites.set(i, (T) this);
+			else
+				notNullComposites.set(i, (T) this);
 		}
+		this.composites = compact(notNullComposites);
+		// meta, value and composites are final from here : level, root and category are computed once
+		this.root = isRoot() ? (U) this : this.meta.getRoot();
+		this.level = (byte) ((isRoot() || this.composites.stream().allMatch(c -> c.isRoot()) && Objects.equals(value, root.getValue())) ? 0 : this.meta.getLevel() + 1);
+		this.category = Statics.getCategoryString(level, this.composites.size());
 		return (T) this;
 	}
 
@@ -87,26 +112,150 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 
 	@Override
 	public int getLevel() {
-		return (isRoot() || composites.stream().allMatch(c -> c.isRoot()) && Objects.equals(getValue(), getRoot().getValue())) ? 0 : meta.getLevel() + 1;
+		return level;
+	}
+
+	@Override
+	public U getRoot() {
+		return root;
+	}
+
+	// the lists of one element are shared by all the vertices referencing this element, the others are fixed-arity lists
+	private static <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> List<T> compact(List<T> list) {
+		return list.size() == 1 ? list.get(0).asSingletonList() : CompactList.of(list);
+	}
+
+	private List<T> singletonList;
+
+	List<T> asSingletonList() {
+		if (singletonList == null) {
+			@SuppressWarnings("unchecked")
+			T vertex = (T) this;
+			singletonList = Collections.singletonList(vertex);
+		}
+		return singletonList;
+	}
+
+	@Override
+	public String getCategory() {
+		return category;
+	}
+
+	/**
+	 * @return the id of this vertex in the vertex table of its root, or -1 when it is not plugged or its root has no vertex table
+	 */
+	public int getId() {
+		return id;
+	}
+
+	void register(VertexTable<T> vertexTable) {
+		@SuppressWarnings("unchecked")
+		T vertex = (T) this;
+		id = vertexTable.register(vertex);
 	}
 
 	protected List<T> supers;
+	private Set<T> ancestors;
 
-	protected abstract Dependencies<T> getInstancesDependencies();
+	// allocated on first insertion : most vertices never get instances, inheritings or components
+	private volatile Dependencies<T> instances;
+	private volatile Dependencies<T> inheritings;
+	private volatile Map<Object, Dependencies<T>> instancesByValue;
+	private volatile DependenciesMap<T> metaComponents;
+	private volatile DependenciesMap<T> superComponents;
+
+	protected Dependencies<T> getInstancesDependencies() {
+		Dependencies<T> instances = this.instances;
+		return instances != null ? instances : EmptyDependencies.dependencies();
+	}
+
+	protected Dependencies<T> getInheritingsDependencies() {
+		Dependencies<T> inheritings = this.inheritings;
+		return inheritings != null ? inheritings : EmptyDependencies.dependencies();
+	}
+
+	protected DependenciesMap<T> getMetaComponentsDependencies() {
+		DependenciesMap<T> metaComponents = this.metaComponents;
+		return metaComponents != null ? metaComponents : EmptyDependencies.dependenciesMap();
+	}
+
+	protected DependenciesMap<T> getSuperComponentsDependencies() {
+		DependenciesMap<T> superComponents = this.superComponents;
+		return superComponents != null ? superComponents : EmptyDependencies.dependenciesMap();
+	}
+
+	// false when instances are not held by this vertex : lookups then scan the instances
+	@SuppressWarnings("static-method")
+	protected boolean isInstancesByValueIndexed() {
+		return true;
+	}
+
+	// empty until an instance is indexed, only read when instances are indexed by value
+	protected Map<Object, Dependencies<T>> getInstancesByValueDependencies() {
+		Map<Object, Dependencies<T>> instancesByValue = this.instancesByValue;
+		return instancesByValue != null ? instancesByValue : Collections.emptyMap();
+	}
+
+	private Dependencies<T> buildInstancesDependencies() {
+		if (instances == null)
+			instances = buildDependencies();
+		return instances;
+	}
+
+	private Dependencies<T> buildInheritingsDependencies() {
+		if (inheritings == null)
+			inheritings = buildDependencies();
+		return inheritings;
+	}
 
-	protected abstract Dependencies<T> getInheritingsDependencies();
+	private DependenciesMap<T> buildMetaComponentsDependencies() {
+		if (metaComponents == null)
+			metaComponents = buildDependenciesMap();
+		return metaComponents;
+	}
 
-	protected abstract Dependencies<DependenciesEntry<T>> getMetaComponentsDependencies();
+	private DependenciesMap<T> buildSuperComponentsDependencies() {
+		if (superComponents == null)
+			superComponents = buildDependenciesMap();
+		return superComponents;
+	}
 
-	protected abstract Dependencies<DependenciesEntry<T>> getSuperComponentsDependencies();
+	private Map<Object, Dependencies<T>> buildInstancesByValueDependencies() {
+		if (instancesByValue == null)
+			instancesByValue = buildDependenciesByValue();
+		return instancesByValue;
+	}
 
 	@SuppressWarnings("unchecked")
 	protected T init(boolean throwExistException, T meta, List<T> supers, Serializable value, List<T> components) {
 		init(throwExistException, meta, value, components);
-		this.supers = supers;
+		this.supers = compact(supers);
+		this.ancestors = computeAncestors();
 		return (T) this;
 	}
 
+	Set<T> getAncestors() {
+		return ancestors;
+	}
+
+	// The supers of the same level, and their own ancestors : inheritsFrom never follows a super of another level
+	private Set<T> computeAncestors() {
+		Set<T> result = null;
+		for (T superVertex : supers)
+			if (superVertex.getLevel() == getLevel()) {
+				if (result == null)
+					result = new HashSet<>();
+				result.add(superVertex);
+				result.addAll(((AbstractVertex<T, U>) superVertex).ancestors);
+			}
+		return result != null ? result : Collections.emptySet();
+	}
+
+	@Override
+	public boolean inheritsFrom(T superVertex) {
+		return equals(superVertex) || (getLevel() == superVertex.getLevel() && ancestors.contains(superVertex));
+	}
+
 	protected T newT(Class<?> clazz, boolean throwExistException, T meta, List<T> supers, Serializable value, List<T> components) {
 		return newT(clazz).init(throwExistException, meta, supers, value, components);
 	}
@@ -122,7 +271,17 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 
 	@SuppressWarnings("static-method")
 	protected <H> Dependencies<H> buildDependencies() {
-		return new DependenciesImpl<>();
+		return new IndexedDependenciesImpl<>();
+	}
+
+	@SuppressWarnings("static-method")
+	protected <H> DependenciesMap<H> buildDependenciesMap() {
+		return new DependenciesMapImpl<>();
+	}
+
+	@SuppressWarnings("static-method")
+	protected <H> Map<Object, Dependencies<H>> buildDependenciesByValue() {
+		return new ConcurrentHashMap<>();
 	}
 
 	protected void forceRemove() {
@@ -161,23 +320,80 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 	private static class ConvertMap<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> extends HashMap<T, T> {
 		private static final long serialVersionUID = 5003546962293036021L;
 
+		// Rebuilds the meta, the composites and the supers of a dependency before it, from a stack rather than by recursion
 		T convert(T dependency) {
 			if (dependency.isAlive())// KK ?
 				return dependency;
 			T newDependency = get(dependency);
 			if (newDependency == null) {
-				T meta = (dependency.isRoot()) ? dependency : convert(dependency.getMeta());
-				List<T> composites = dependency.getComposites().stream().map(x -> x.equals(this) ? null : convert(x)).collect(Collectors.toList());
-				meta = meta.adjustMeta(dependency.getValue(), composites);
-				newDependency = meta.buildInstance(null, dependency.isThrowExistException(), dependency.getSupers().stream().map(x -> convert(x)).collect(Collectors.toList()), dependency.getValue(), composites).plug();
-				put(dependency, newDependency);
+				Deque<Conversion> stack = new ArrayDeque<>();
+				stack.push(new Conversion(dependency));
+				while (!stack.isEmpty()) {
+					T toConvertBefore = stack.peek().getToConvertBefore();
+					if (toConvertBefore != null)
+						stack.push(new Conversion(toConvertBefore));
+					else
+						stack.pop().build();
+				}
+				newDependency = get(dependency);
 			}
 			return newDependency;
 		}
+
+		private T getConverted(T vertex) {
+			return vertex.isAlive() ? vertex : get(vertex);
+		}
+
+		private class Conversion {
+			private final T dependency;
+			private T meta;
+			private boolean adjusted;
+			private final List<T> composites = new ArrayList<>();
+			private final List<T> supers = new ArrayList<>();
+
+			private Conversion(T dependency) {
+				this.dependency = dependency;
+			}
+
+			private T getToConvertBefore() {
+				if (meta == null) {
+					meta = dependency.isRoot() ? dependency : getConverted(dependency.getMeta());
+					if (meta == null)
+						return dependency.getMeta();
+				}
+				while (composites.size() < dependency.getComposites().size()) {
+					T composite = dependency.getComposites().get(composites.size());
+					if (composite.equals(dependency))
+						composites.add(null);
+					else {
+						T newComposite = getConverted(composite);
+						if (newComposite == null)
+							return composite;
+						composites.add(newComposite);
+					}
+				}
+				if (!adjusted) {
+					meta = meta.adjustMeta(dependency.getValue(), composites);
+					adjusted = true;
+				}
+				while (supers.size() < dependency.getSupers().size()) {
+					T superT = dependency.getSupers().get(supers.size());
+					T newSuper = getConverted(superT);
+					if (newSuper == null)
+						return superT;
+					supers.add(newSuper);
+				}
+				return null;
+			}
+
+			private void build() {
+				put(dependency, meta.buildInstance(null, dependency.isThrowExistException(), supers, dependency.getValue(), composites).plug());
+			}
+		}
 	}
 
 	protected LinkedHashSet<T> computeDependencies() {
-		return new DependenciesComputer<T, U>() {
+		return new DependenciesComputer<T, U>(getRoot().isForkJoinEnabled()) {
 			private static final long serialVersionUID = 4116681784718071815L;
 
 			@Override
@@ -189,36 +405,60 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 
 	@SuppressWarnings("unchecked")
 	private LinkedHashSet<T> buildOrderedDependenciesToRemove() {
-		return new LinkedHashSet<T>() {
-			private static final long serialVersionUID = -3610035019789480505L;
-			{
-				visit((T) AbstractVertex.this);
+		return new OrderedDependenciesToRemove<T, U>().visit((T) this);
+	}
+
+	// Each vertex is visited before its components and its cascaded composites, from a stack rather than by recursion
+	private static class OrderedDependenciesToRemove<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> extends LinkedHashSet<T> {
+		private static final long serialVersionUID = -3610035019789480505L;
+
+		private final Deque<Visit<T, U>> stack = new ArrayDeque<>();
+
+		OrderedDependenciesToRemove<T, U> visit(T generic) {
+			enter(generic);
+			while (!stack.isEmpty()) {
+				Visit<T, U> visit = stack.peek();
+				if (visit.components.hasNext()) {
+					T component = visit.components.next();
+					if (!visit.generic.equals(component)) {
+						for (int compositePos = 0; compositePos < component.getComposites().size(); compositePos++)
+							if (/* !compositeDependency.isAutomatic() && */component.getComposites().get(compositePos).equals(visit.generic) && !contains(component) && component.isReferentialIntegrityEnabled(compositePos))
+								generic.getRoot().discardWithException(new ReferentialIntegrityConstraintViolationException(component + " is Referential Integrity for ancestor " + visit.generic + " by component position : " + compositePos));
+						enter(component);
+					}
+				} else if (visit.axe < visit.generic.getComposites().size()) {
+					int axe = visit.axe++;
+					if (visit.generic.isCascadeRemove(axe))
+						enter(visit.generic.getComposites().get(axe));
+				} else
+					stack.pop();
 			}
+			return this;
+		}
 
-			// TODO clean
-			public void visit(T generic) {
-				if (add(generic)) {// protect from loop
-					if (!generic.getInheritings().isEmpty() || !generic.getInstances().isEmpty())
-						getRoot().discardWithException(new ReferentialIntegrityConstraintViolationException("Ancestor : " + generic + " has an inheritance or instance dependency"));
-
-					for (T component : generic.getComponents())
-						if (!generic.equals(component)) {
-							for (int compositePos = 0; compositePos < component.getComposites().size(); compositePos++)
-								if (/* !compositeDependency.isAutomatic() && */component.getComposites().get(compositePos).equals(generic) && !contains(component) && component.isReferentialIntegrityEnabled(compositePos))
-									getRoot().discardWithException(new ReferentialIntegrityConstraintViolationException(component + " is Referential Integrity for ancestor " + generic + " by component position : " + compositePos));
-							visit(component);
-						}
-					for (int axe = 0; axe < generic.getComposites().size(); axe++)
-						if (generic.isCascadeRemove(axe))
-							visit(generic.getComposites().get(axe));
-				}
+		private void enter(T generic) {
+			if (add(generic)) {// protect from loop
+				if (!generic.getInheritings().isEmpty() || !generic.getInstances().isEmpty())
+					generic.getRoot().discardWithException(new ReferentialIntegrityConstraintViolationException("Ancestor : " + generic + " has an inheritance or instance dependency"));
+				stack.push(new Visit<>(generic));
 			}
-		};
+		}
+
+		private static class Visit<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> {
+			private final T generic;
+			private final Iterator<T> components;
+			private int axe;
+
+			private Visit(T generic) {
+				this.generic = generic;
+				this.components = generic.getComponents().iterator();
+			}
+		}
 	}
 
 	@SuppressWarnings("unchecked")
 	protected LinkedHashSet<T> computePotentialDependencies(List<T> overrides, Serializable value, List<T> composites) {
-		return new DependenciesComputer<T, U>() {
+		return new DependenciesComputer<T, U>(getRoot().isForkJoinEnabled()) {
 			private static final long serialVersionUID = -3611136800445783634L;
 
 			@Override
@@ -251,14 +491,33 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 				&& compositesDepends(composites, directInheriting.getComposites());
 	}
 
-	// TODO KK if a composite is null
 	T getDirectInstance(Serializable value, List<T> composites) {
-		for (T instance : getInstances())
+		for (T instance : getDirectInstanceCandidates(value, composites))
 			if (((AbstractVertex<?, ?>) instance).equalsRegardlessSupers(this, value, composites))
 				return instance;
 		return null;
 	}
 
+	// An instance equal to (value, composites) references each not null composite : it is found among the meta components of the first one
+	// or, when it only references itself, among the instances having this value
+	@SuppressWarnings("unchecked")
+	private Snapshot<T> getDirectInstanceCandidates(Serializable value, List<T> composites) {
+		Optional<T> firstComposite = composites.stream().filter(Objects::nonNull).findFirst();
+		if (firstComposite.isPresent())
+			return () -> Stream.concat(composites.stream().filter(Objects::nonNull), firstComposite.get().getMetaComponents((T) this).stream()).iterator();
+		return getInstancesByValue(value);
+	}
+
+	Snapshot<T> getInstancesByValue(Serializable value) {
+		if (!isInstancesByValueIndexed())
+			return getInstances();
+		Map<Object, Dependencies<T>> instancesByValue = getInstancesByValueDependencies();
+		return () -> {
+			Dependencies<T> dependencies = instancesByValue.get(valueKey(value));
+			return dependencies != null ? dependencies.iterator() : Collections.emptyIterator();
+		};
+	}
+
 	T getDirectInstance(List<T> overrides, Serializable value, List<T> composites) {
 		T result = getDirectInstance(value, composites);
 		return result != null && Statics.areOverridesReached(overrides, result.getSupers()) ? result : null;
@@ -287,12 +546,33 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 	}
 
 	T getDirectEquivInstance(Serializable value, List<T> composites) {
-		for (T instance : getInstances())
+		for (T instance : getDirectEquivInstanceCandidates(value, composites))
 			if (instance.equiv(this, value, composites))
 				return instance;
 		return null;
 	}
 
+	// An equivalent instance references the not null composite of each singular axis, or else all the not null composites.
+	// A singular axis on a self reference or a property without composites matches regardless of the value : instances are scanned
+	@SuppressWarnings("unchecked")
+	private Snapshot<T> getDirectEquivInstanceCandidates(Serializable value, List<T> composites) {
+		if (getInstances().isEmpty())
+			return getInstances();
+		List<T> singularComposites = new ArrayList<>();
+		for (int i = 0; i < composites.size(); i++)
+			if (!isReferentialIntegrityEnabled(i) && isSingularConstraintEnabled(i)) {
+				if (composites.get(i) == null)
+					return getInstances();
+				singularComposites.add(composites.get(i));
+			}
+		Optional<T> firstComposite = composites.stream().filter(Objects::nonNull).findFirst();
+		if (!firstComposite.isPresent())
+			return isPropertyConstraintEnabled() ? getInstances() : getInstancesByValue(value);
+		if (!singularComposites.contains(firstComposite.get()))
+			singularComposites.add(firstComposite.get());
+		return () -> Stream.concat(composites.stream().filter(Objects::nonNull), singularComposites.stream().flatMap(composite -> composite.getMetaComponents((T) this).stream())).iterator();
+	}
+
 	private final Function<? super ISignature<?>, ? extends IVertex<?, ?>> NULL_TO_THIS = x -> x == null ? this : (IVertex<?, ?>) x;
 
 	boolean equiv(IVertex<?, ?> meta, Serializable value, List<? extends IVertex<?, ?>> composites) {
@@ -313,7 +593,7 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 		return true;
 	}
 
-	private void checkSameEngine(List<T> generics) {
+	void checkSameEngine(List<T> generics) {
 		if (generics.stream().anyMatch(generic -> generic != null && !generic.getRoot().equals(getRoot())))
 			getRoot().discardWithException(new CrossEnginesAssignementsException());
 	}
@@ -331,7 +611,68 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 
 	@SuppressWarnings("unchecked")
 	Snapshot<T> getInheritings(final T origin, final int level) {
-		return () -> new InheritanceComputer<>((T) AbstractVertex.this, origin, level).inheritanceIterator();
+		return () -> {
+			RootCache<T> rootCache = getRoot().getRootCache();
+			if (rootCache == null)
+				return new InheritanceComputer<>((T) AbstractVertex.this, origin, level).inheritanceIterator();
+			return rootCache.getInheritings((T) this, origin, level, () -> new InheritanceComputer<>((T) AbstractVertex.this, origin, level).inheritanceList()).iterator();
+		};
+	}
+
+	private void structuralModification() {
+		RootCache<T> rootCache = getRoot().getRootCache();
+		if (rootCache != null) {
+			rootCache.structuralModification();
+			if (isSystemMapDependency())
+				rootCache.systemPropertiesModification();
+		}
+	}
+
+	/**
+	 * @return true if this vertex is the system map, one of its keys or a holder of a key : plugging or unplugging it changes the system properties
+	 */
+	public boolean isSystemMapDependency() {
+		return SystemMap.class.equals(getValue()) || getValue() instanceof AxedPropertyClass || getMeta().getValue() instanceof AxedPropertyClass;
+	}
+
+	private static final List<Class<? extends SystemProperty>> FLAGGED_SYSTEM_PROPERTIES = Arrays.asList(NoReferentialIntegrityProperty.class, SingularConstraint.class, PropertyConstraint.class, RequiredConstraint.class, CascadeRemoveProperty.class);
+	private static final int FLAGGED_POSITIONS = Long.SIZE / FLAGGED_SYSTEM_PROPERTIES.size();
+
+	private volatile SystemPropertyFlags systemPropertyFlags = SystemPropertyFlags.NONE;
+
+	// Resolved system properties are kept as bits, one per property and position, until the system map changes
+	@Override
+	public boolean isSystemPropertyEnabled(Class<? extends SystemProperty> propertyClass, int pos) {
+		RootCache<T> rootCache = getRoot().getRootCache();
+		int propertyIndex = FLAGGED_SYSTEM_PROPERTIES.indexOf(propertyClass);
+		if (rootCache == null || propertyIndex < 0 || pos < Statics.NO_POSITION || pos >= FLAGGED_POSITIONS - 1)
+			return DefaultVertex.super.isSystemPropertyEnabled(propertyClass, pos);
+		long revision = rootCache.getSystemPropertiesRevision();
+		SystemPropertyFlags flags = systemPropertyFlags;
+		if (flags.revision != revision)
+			flags = new SystemPropertyFlags(revision, 0L, 0L);
+		long flag = 1L << (propertyIndex * FLAGGED_POSITIONS + pos + 1);
+		if ((flags.known & flag) == 0) {
+			boolean enabled = DefaultVertex.super.isSystemPropertyEnabled(propertyClass, pos);
+			systemPropertyFlags = flags = new SystemPropertyFlags(revision, flags.known | flag, enabled ? flags.enabled | flag : flags.enabled);
+		}
+		return (flags.enabled & flag) != 0;
+	}
+
+	// the flags of a vertex are replaced as a whole : a vertex may be read from several threads, each through its own cache
+	private static class SystemPropertyFlags {
+
+		private static final SystemPropertyFlags NONE = new SystemPropertyFlags(0L, 0L, 0L);
+
+		private final long revision;
+		private final long known;
+		private final long enabled;
+
+		private SystemPropertyFlags(long revision, long known, long enabled) {
+			this.revision = revision;
+			this.known = known;
+			this.enabled = enabled;
+		}
 	}
 
 	abstract protected T newT();
@@ -436,26 +777,81 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 
 	// TODO KK public -> package
 	public Snapshot<T> getMetaComponents(T meta) {
-		return () -> {
-			for (DependenciesEntry<T> entry : getMetaComponentsDependencies())
-				if (meta.equals(entry.getKey()))
-					return entry.getValue().iterator();
-			return Collections.emptyIterator();
-		};
+		return SizedSnapshot.of(() -> {
+			Dependencies<T> dependencies = getMetaComponentsDependencies().getByIndex(meta);
+			return dependencies != null ? dependencies.iterator() : Collections.emptyIterator();
+		}, () -> {
+			Dependencies<T> dependencies = getMetaComponentsDependencies().getByIndex(meta);
+			return dependencies != null ? dependencies.size() : 0;
+		});
 	}
 
 	// TODO KK public -> package
 	public Snapshot<T> getSuperComponents(T superT) {
-		return () -> {
-			for (DependenciesEntry<T> entry : getSuperComponentsDependencies())
-				if (superT.equals(entry.getKey()))
-					return entry.getValue().iterator();
-			return Collections.emptyIterator();
-		};
+		return SizedSnapshot.of(() -> {
+			Dependencies<T> dependencies = getSuperComponentsDependencies().getByIndex(superT);
+			return dependencies != null ? dependencies.iterator() : Collections.emptyIterator();
+		}, () -> {
+			Dependencies<T> dependencies = getSuperComponentsDependencies().getByIndex(superT);
+			return dependencies != null ? dependencies.size() : 0;
+		});
+	}
+
+	/**
+	 * Counts the holders of attribute on this vertex from the ones indexed under it, without computing the inheritance. This is only possible
+	 * when no holder is inherited from a super or a meta, and none overrides another.
+	 *
+	 * @return the number of holders accepted by the filter, or -1 when it exceeds limit or can not be told from the index
+	 */
+	public int getHoldersCount(T attribute, Predicate<T> filter, int limit) {
+		if (!isHoldersIndexLocal(attribute))
+			return -1;
+		int count = 0;
+		for (T holder : getMetaComponents(attribute)) {
+			if (!holder.getSupers().isEmpty())
+				return -1;
+			if (filter.test(holder) && ++count > limit)
+				return -1;
+		}
+		return count;
+	}
+
+	/**
+	 * Tells whether this vertex has a holder of attribute from the ones indexed under it, under the same conditions as getHoldersCount, without
+	 * counting them.
+	 *
+	 * @return whether this vertex has a holder of attribute, or null when it can not be told from the index
+	 */
+	public Boolean hasHolders(T attribute) {
+		if (!isHoldersIndexLocal(attribute))
+			return null;
+		boolean result = false;
+		for (T holder : getMetaComponents(attribute)) {
+			if (!holder.getSupers().isEmpty())
+				return null;
+			result = true;
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isHoldersIndexLocal(T attribute) {
+		if (!getSupers().isEmpty() || attribute.getInheritings().iterator().hasNext())
+			return false;
+		for (T meta = (T) this; !meta.isRoot();) {
+			meta = meta.getMeta();
+			if (!meta.getSupers().isEmpty() || meta.getMetaComponents(attribute).iterator().hasNext())
+				return false;
+		}
+		return true;
 	}
 
 	@SuppressWarnings("unchecked")
 	protected <subT extends T> subT plug() {
+		structuralModification();
+		VertexTable<T> vertexTable = getRoot().getVertexTable();
+		if (vertexTable != null && id < 0)
+			register(vertexTable);
 		T result = ((AbstractVertex<T, U>) getMeta()).indexInstance((T) this);
 		getSupers().forEach(superGeneric -> ((AbstractVertex<T, U>) superGeneric).indexInheriting((T) this));
 		getComposites().stream().filter(composite -> !equals(composite)).forEach(composite -> ((AbstractVertex<T, U>) composite).indexByMeta(getMeta(), (T) this));
@@ -467,39 +863,35 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 	@SuppressWarnings("unchecked")
 	protected boolean unplug() {
 		getRoot().check(CheckingType.CHECK_ON_REMOVE, true, (T) this);
+		structuralModification();
 		boolean result = ((AbstractVertex<T, U>) getMeta()).unIndexInstance((T) this);
 		if (!result)
 			getRoot().discardWithException(new NotFoundException(this.info()));
 		getSupers().forEach(superGeneric -> ((AbstractVertex<T, U>) superGeneric).unIndexInheriting((T) this));
 		getComposites().stream().filter(composite -> !equals(composite)).forEach(composite -> ((AbstractVertex<T, U>) composite).unIndexByMeta(getMeta(), (T) this));
 		getSupers().forEach(superGeneric -> getComposites().stream().filter(composite -> !equals(composite)).forEach(composite -> ((AbstractVertex<T, U>) composite).unIndexBySuper(superGeneric, (T) this)));
+		VertexTable<T> vertexTable = getRoot().getVertexTable();
+		if (vertexTable != null && id >= 0) {
+			vertexTable.release(id);
+			id = -1;
+		}
 		return result;
 	}
 
 	private T indexByMeta(T meta, T composite) {
-		return index(getMetaComponentsDependencies(), meta, composite);
+		return index(buildMetaComponentsDependencies(), meta, composite);
 	}
 
 	private T indexBySuper(T superVertex, T composite) {
-		return index(getSuperComponentsDependencies(), superVertex, composite);
+		return index(buildSuperComponentsDependencies(), superVertex, composite);
 	}
 
-	private static <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> T index(Dependencies<DependenciesEntry<T>> multimap, T index, T composite) {
-		for (DependenciesEntry<T> entry : multimap)
-			if (index.equals(entry.getKey()))
-				return entry.getValue().set(composite);
-
-		Dependencies<T> dependencies = composite.buildDependencies();
-		T result = dependencies.set(composite);
-		multimap.set(new DependenciesEntry<>(index, dependencies));
-		return result;
+	private static <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> T index(DependenciesMap<T> multimap, T index, T composite) {
+		return multimap.index(index, composite, composite::buildDependencies);
 	}
 
-	private static <T> boolean unIndex(Dependencies<DependenciesEntry<T>> multimap, T index, T composite) {
-		for (DependenciesEntry<T> entry : multimap)
-			if (index.equals(entry.getKey()))
-				return entry.getValue().remove(composite);
-		return false;
+	private static <T> boolean unIndex(DependenciesMap<T> multimap, T index, T composite) {
+		return multimap.unIndex(index, composite);
 	}
 
 	private boolean unIndexByMeta(T meta, T composite) {
@@ -520,23 +912,46 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 
 	@Override
 	public Snapshot<T> getInstances() {
-		return getInstancesDependencies();
+		Dependencies<T> instances = this.instances;
+		return instances != null ? instances : new DependenciesView<>(this::getInstancesDependencies);
 	}
 
 	@Override
 	public Snapshot<T> getInheritings() {
-		return getInheritingsDependencies();
+		Dependencies<T> inheritings = this.inheritings;
+		return inheritings != null ? inheritings : new DependenciesView<>(this::getInheritingsDependencies);
 	}
 
 	private T indexInstance(T instance) {
-		return index(getInstancesDependencies(), instance);
+		indexByValue(instance);
+		return index(buildInstancesDependencies(), instance);
+	}
+
+	private static Object valueKey(Serializable value) {
+		return value != null ? value : NULL_VALUE_KEY;
+	}
+
+	private static final Object NULL_VALUE_KEY = new Object();
+
+	private void indexByValue(T instance) {
+		if (isInstancesByValueIndexed() && instance.getComposites().stream().allMatch(instance::equals))
+			buildInstancesByValueDependencies().computeIfAbsent(valueKey(instance.getValue()), key -> instance.buildDependencies()).set(instance);
+	}
+
+	private void unIndexByValue(T instance) {
+		if (isInstancesByValueIndexed()) {
+			Dependencies<T> dependencies = getInstancesByValueDependencies().get(valueKey(instance.getValue()));
+			if (dependencies != null)
+				dependencies.remove(instance);
+		}
 	}
 
 	private T indexInheriting(T inheriting) {
-		return index(getInheritingsDependencies(), inheriting);
+		return index(buildInheritingsDependencies(), inheriting);
 	}
 
 	private boolean unIndexInstance(T instance) {
+		unIndexByValue(instance);
 		return unIndex(getInstancesDependencies(), instance);
 	}
 
@@ -578,7 +993,7 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 		checkLevelComposites();
 		for (Class<? extends Constraint> constraintClass : DefaultRoot.SYSTEM_CONSTRAINTS)
 			try {
-				Constraint constraint = constraintClass.newInstance();
+				Constraint constraint = ConstraintPlan.getConstraint(constraintClass);
 				if (isCheckable(constraint, checkingType, isFlushTime))
 					constraint.check(this, this);
 			} catch (InstantiationException | IllegalAccessException | ConstraintViolationException e) {
@@ -621,28 +1036,52 @@ public abstract class AbstractVertex<T extends AbstractVertex<T, U>, U extends D
 	}
 
 	void checkConstraints(CheckingType checkingType, boolean isFlushTime) {
-		for (T constraintHolder : getActivedConstraints())
+		ConstraintPlan<T> plan = getConstraintPlan();
+		for (int i = 0; i < plan.size(); i++)
 			try {
-				Constraint constraint = newConstraint(constraintHolder);
-				if (isCheckable(constraint, checkingType, isFlushTime)) {
-					int axe = ((AxedPropertyClass) constraintHolder.getValue()).getAxe();
-					constraint.check(this, getHolders(constraintHolder).iterator().next().getComposites().get(Statics.BASE_POSITION));
-				}
+				Constraint constraint = plan.getConstraint(i);
+				if (isCheckable(constraint, checkingType, isFlushTime))
+					constraint.check(this, plan.getAttribute(i));
 			} catch (ConstraintViolationException e) {
 				getRoot().discardWithException(e);
 			}
 	}
 
-	private List<T> getActivedConstraints() {
-		return getKeys().filter(x -> x.getValue() instanceof AxedPropertyClass && Constraint.class.isAssignableFrom(((AxedPropertyClass) x.getValue()).getClazz())).filter(x -> {
+	@SuppressWarnings("unchecked")
+	ConstraintPlan<T> getConstraintPlan() {
+		ConstraintPlans<T> plans = getRoot().getConstraintPlans();
+		if (plans == null)
+			return compileConstraintPlan(getKeys().collect(Collectors.toList()));
+		List<T> keys = plans.getKeys(() -> getKeys().collect(Collectors.toList()));
+		if (!isRoot() && getSupers().isEmpty() && keys.stream().noneMatch(key -> getMetaComponents(key).iterator().hasNext()))
+			return getMeta().getConstraintPlan();
+		return plans.getPlan((T) this, () -> compileConstraintPlan(keys));
+	}
+
+	private ConstraintPlan<T> compileConstraintPlan(List<T> keys) {
+		List<Constraint> constraints = new ArrayList<>();
+		List<T> attributes = new ArrayList<>();
+		for (T constraintHolder : getActivedConstraints(keys)) {
+			Constraint constraint = newConstraint(constraintHolder);
+			if (constraint != null) {
+				constraints.add(constraint);
+				attributes.add(getHolders(constraintHolder).iterator().next().getComposites().get(Statics.BASE_POSITION));
+			}
+		}
+		return new ConstraintPlan<>(constraints, attributes);
+	}
+
+	private List<T> getActivedConstraints(List<T> keys) {
+		return keys.stream().filter(x -> x.getValue() instanceof AxedPropertyClass && Constraint.class.isAssignableFrom(((AxedPropertyClass) x.getValue()).getClazz())).filter(x -> {
 			Iterator<T> holders = getHolders(x).iterator();
 			return holders.hasNext() && !holders.next().getValue().equals(Boolean.FALSE);
 		}).sorted(priorityConstraintComparator).collect(Collectors.toList());
 	}
 
+	@SuppressWarnings("unchecked")
 	private Constraint newConstraint(T constraintHolder) {
 		try {
-			return (Constraint) ((AxedPropertyClass) constraintHolder.getValue()).getClazz().newInstance();
+			return ConstraintPlan.getConstraint((Class<? extends Constraint>) ((AxedPropertyClass) constraintHolder.getValue()).getClazz());
 		} catch (InstantiationException | IllegalAccessException e) {
 			getRoot().discardWithException(e);
 		}
@@ -0,0 +1,168 @@
+package org.genericsystem.kernel;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable image of the vertices of a root just after its construction : the system vertices, the user classes and the system properties
+ * set on them.
+ *
+ * A root adopts an image by plugging its vertices in sequence, each one after its meta, supers and composites, with no search of an
+ * equivalent vertex nor of the vertices to rebuild. Adopting an image costs the size of the schema, while binding each user class again
+ * searches and checks the whole schema.
+ *
+ * The vertices are addressed by their position in the image, the root at 0. A composite of a vertex at its own position stands for the vertex
+ * itself.
+ */
+public class BootstrapImage {
+
+	private final Serializable rootValue;
+	private final Entry[] entries;
+
+	private BootstrapImage(Serializable rootValue, Entry[] entries) {
+		this.rootValue = rootValue;
+		this.entries = entries;
+	}
+
+	/**
+	 * @param root
+	 *            the root to capture
+	 * @param classes
+	 *            the classes of the system vertices of the root
+	 * @return an image of all the vertices of the root
+	 */
+	public static <T extends AbstractVertex<T, ?>> BootstrapImage capture(T root, Map<T, Class<?>> classes) {
+		Map<T, Integer> positions = new IdentityHashMap<>();
+		positions.put(root, 0);
+		List<Entry> entries = new ArrayList<>();
+		entries.add(null);
+		List<T> toVisit = new ArrayList<>();
+		toVisit.add(root);
+		for (int i = 0; i < toVisit.size(); i++)
+			for (T instance : toVisit.get(i).getInstances())
+				if (!instance.isRoot()) {
+					toVisit.add(instance);
+					capture(instance, classes, positions, entries);
+				}
+		return new BootstrapImage(root.getValue(), entries.toArray(new Entry[entries.size()]));
+	}
+
+	// captures the meta, supers and composites of vertex before it
+	private static <T extends AbstractVertex<T, ?>> int capture(T vertex, Map<T, Class<?>> classes, Map<T, Integer> positions, List<Entry> entries) {
+		Integer position = positions.get(vertex);
+		if (position != null)
+			return position;
+		int meta = capture(vertex.getMeta(), classes, positions, entries);
+		int[] supers = new int[vertex.getSupers().size()];
+		for (int i = 0; i < supers.length; i++)
+			supers[i] = capture(vertex.getSupers().get(i), classes, positions, entries);
+		int[] composites = new int[vertex.getComposites().size()];
+		List<T> vertexComposites = vertex.getComposites();
+		for (int i = 0; i < composites.length; i++)
+			composites[i] = vertex.equals(vertexComposites.get(i)) ? -1 : capture(vertexComposites.get(i), classes, positions, entries);
+		position = entries.size();
+		for (int i = 0; i < composites.length; i++)
+			if (composites[i] == -1)
+				composites[i] = position;
+		entries.add(new Entry(classes.get(vertex), vertex.isThrowExistException(), meta, supers, vertex.getValue(), composites));
+		positions.put(vertex, position);
+		return position;
+	}
+
+	/**
+	 * Plugs the vertices of this image under root, in sequence.
+	 *
+	 * @param root
+	 *            a root of the value of this image, without other vertex
+	 * @param builder
+	 *            builds and plugs each vertex under root
+	 * @return the vertices adopted, by position in this image
+	 */
+	public <T> List<T> adopt(T root, Builder<T> builder) {
+		List<T> vertices = new ArrayList<>(entries.length);
+		vertices.add(root);
+		for (int position = 1; position < entries.length; position++) {
+			Entry entry = entries[position];
+			List<T> supers = new ArrayList<>(entry.supers.length);
+			for (int superPosition : entry.supers)
+				supers.add(vertices.get(superPosition));
+			List<T> composites = new ArrayList<>(entry.composites.length);
+			for (int compositePosition : entry.composites)
+				composites.add(compositePosition == position ? null : vertices.get(compositePosition));
+			vertices.add(builder.build(entry.clazz, entry.throwExistException, vertices.get(entry.meta), supers, entry.value, composites));
+		}
+		return vertices;
+	}
+
+	/**
+	 * @return the value of the root of this image
+	 */
+	public Serializable getRootValue() {
+		return rootValue;
+	}
+
+	/**
+	 * @return the number of vertices of this image, root included
+	 */
+	public int size() {
+		return entries.length;
+	}
+
+	/**
+	 * @return the classes of the system vertices of this image
+	 */
+	public List<Class<?>> getClasses() {
+		List<Class<?>> classes = new ArrayList<>();
+		for (int position = 1; position < entries.length; position++)
+			if (entries[position].clazz != null)
+				classes.add(entries[position].clazz);
+		return Collections.unmodifiableList(classes);
+	}
+
+	@Override
+	public String toString() {
+		return "BootstrapImage of " + rootValue + " : " + entries.length + " vertices";
+	}
+
+	@FunctionalInterface
+	public static interface Builder<T> {
+
+		/**
+		 * @param clazz
+		 *            the class of a system vertex, or null
+		 * @param composites
+		 *            the composites, null for the vertex itself
+		 * @return the vertex built and plugged
+		 */
+		T build(Class<?> clazz, boolean throwExistException, T meta, List<T> supers, Serializable value, List<T> composites);
+	}
+
+	private static class Entry {
+
+		private final Class<?> clazz;
+		private final boolean throwExistException;
+		private final int meta;
+		private final int[] supers;
+		private final Serializable value;
+		private final int[] composites;
+
+		private Entry(Class<?> clazz, boolean throwExistException, int meta, int[] supers, Serializable value, int[] composites) {
+			this.clazz = clazz;
+			this.throwExistException = throwExistException;
+			this.meta = meta;
+			this.supers = supers;
+			this.value = value;
+			this.composites = composites;
+		}
+
+		@Override
+		public String toString() {
+			return meta + " " + Arrays.toString(supers) + " " + value + " " + Arrays.toString(composites);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package org.genericsystem.kernel;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.genericsystem.api.exception.ExistsException;
+
+/**
+ * Adds instances in sequence, each one as addInstance or setInstance would, and is meant to be used for a batch of insertions.
+ *
+ * The search of the existing vertices to rebuild is the main cost of an insertion, and it grows with the instances of the meta. A concrete
+ * instance of a structural meta without specialization, whose composites are concrete vertices without specialization, can only be inherited
+ * by a vertex referencing each of these composites : a look at their meta components is enough to tell that nothing has to be rebuilt. The
+ * remaining cases take the usual path.
+ *
+ * What is known of the instances of a meta is kept while the root is only modified by this loader : any other modification of the root, or a
+ * root whose revisions are not tracked, drops it.
+ *
+ * @param <T>
+ * @param <U>
+ */
+public class BulkLoader<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> {
+
+	// metas whose instances all have no composite, known at the revision of the root reached by the last insertion of this loader
+	private final Map<T, Boolean> withoutComposites = new HashMap<>();
+	private long revision;
+
+	private long loaded;
+	private long bound;
+
+	public List<T> load(Stream<Request<T>> requests) {
+		return requests.sequential().map(request -> bindInstance(request.throwExistException, request.meta, request.overrides, request.value, request.composites)).collect(Collectors.toList());
+	}
+
+	public T addInstance(T meta, List<T> overrides, Serializable value, List<T> composites) {
+		return bindInstance(true, meta, overrides, value, composites);
+	}
+
+	public T setInstance(T meta, List<T> overrides, Serializable value, List<T> composites) {
+		return bindInstance(false, meta, overrides, value, composites);
+	}
+
+	public T bindInstance(boolean throwExistException, T meta, List<T> overrides, Serializable value, List<T> composites) {
+		RootCache<T> rootCache = meta.getRoot().getRootCache();
+		if (rootCache == null || rootCache.getRevision() != revision)
+			withoutComposites.clear();
+		if (throwExistException && overrides.isEmpty()) {
+			meta.checkSameEngine(composites);
+			T adjustedMeta = meta.adjustMeta(value, composites);
+			if (isRebuildFree(adjustedMeta, value, composites)) {
+				T equivInstance = adjustedMeta.getDirectInstance(value, composites);
+				if (equivInstance != null)
+					meta.getRoot().discardWithException(new ExistsException("An equivalent instance already exists : " + equivInstance.info()));
+				if (!composites.isEmpty())
+					withoutComposites.put(adjustedMeta, false);
+				loaded++;
+				T instance = adjustedMeta.buildInstance(null, true, overrides, value, composites).plug();
+				if (rootCache != null)
+					revision = rootCache.getRevision();
+				return instance;
+			}
+		}
+		withoutComposites.clear();
+		bound++;
+		return meta.bindInstance(null, throwExistException, overrides, value, composites);
+	}
+
+	private boolean isRebuildFree(T adjustedMeta, Serializable value, List<T> composites) {
+		if (adjustedMeta.getLevel() != Statics.STRUCTURAL || !adjustedMeta.getInheritings().isEmpty())
+			return false;
+		if (composites.isEmpty())
+			return withoutComposites.computeIfAbsent(adjustedMeta, x -> x.getInstances().stream().allMatch(instance -> instance.getComposites().isEmpty()));
+		for (T composite : composites)
+			if (composite == null || composite.getLevel() != Statics.CONCRETE || !composite.getInheritings().isEmpty())
+				return false;
+		for (T composite : composites)
+			for (T component : composite.getMetaComponents(adjustedMeta))
+				if (component.dependsFrom(adjustedMeta, Collections.emptyList(), value, composites))
+					return false;
+		return true;
+	}
+
+	/**
+	 * @return the number of instances added without searching the vertices to rebuild
+	 */
+	public long getLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * @return the number of instances bound by the usual path
+	 */
+	public long getBound() {
+		return bound;
+	}
+
+	public static class Request<T> {
+
+		private final boolean throwExistException;
+		private final T meta;
+		private final List<T> overrides;
+		private final Serializable value;
+		private final List<T> composites;
+
+		public Request(boolean throwExistException, T meta, List<T> overrides, Serializable value, List<T> composites) {
+			this.throwExistException = throwExistException;
+			this.meta = Objects.requireNonNull(meta);
+			this.overrides = overrides;
+			this.value = value;
+			this.composites = composites;
+		}
+
+		public Request(T meta, List<T> overrides, Serializable value, List<T> composites) {
+			this(true, meta, overrides, value, composites);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package org.genericsystem.kernel;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable lists of composites and supers, with fixed-arity classes up to three elements : a vertex keeps its elements in fields instead of an
+ * ArrayList and its backing array.
+ */
+final class CompactList {
+
+	private CompactList() {
+	}
+
+	static <T> List<T> of(List<T> list) {
+		switch (list.size()) {
+		case 0:
+			return Collections.emptyList();
+		case 1:
+			return Collections.singletonList(list.get(0));
+		case 2:
+			return new List2<>(list.get(0), list.get(1));
+		case 3:
+			return new List3<>(list.get(0), list.get(1), list.get(2));
+		default:
+			return new ListN<>(list.toArray());
+		}
+	}
+
+	private static class List2<T> extends AbstractList<T> implements RandomAccess {
+		private final T e0;
+		private final T e1;
+
+		private List2(T e0, T e1) {
+			this.e0 = e0;
+			this.e1 = e1;
+		}
+
+		@Override
+		public T get(int index) {
+			switch (index) {
+			case 0:
+				return e0;
+			case 1:
+				return e1;
+			default:
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: 2");
+			}
+		}
+
+		@Override
+		public int size() {
+			return 2;
+		}
+	}
+
+	private static class List3<T> extends AbstractList<T> implements RandomAccess {
+		private final T e0;
+		private final T e1;
+		private final T e2;
+
+		private List3(T e0, T e1, T e2) {
+			this.e0 = e0;
+			this.e1 = e1;
+			this.e2 = e2;
+		}
+
+		@Override
+		public T get(int index) {
+			switch (index) {
+			case 0:
+				return e0;
+			case 1:
+				return e1;
+			case 2:
+				return e2;
+			default:
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: 3");
+			}
+		}
+
+		@Override
+		public int size() {
+			return 3;
+		}
+	}
+
+	private static class ListN<T> extends AbstractList<T> implements RandomAccess {
+		private final Object[] elements;
+
+		private ListN(Object[] elements) {
+			this.elements = elements;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T get(int index) {
+			return (T) elements[index];
+		}
+
+		@Override
+		public int size() {
+			return elements.length;
+		}
+	}
+}
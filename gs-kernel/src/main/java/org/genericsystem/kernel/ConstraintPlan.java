@@ -0,0 +1,53 @@
+package org.genericsystem.kernel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.genericsystem.kernel.systemproperty.constraints.Constraint;
+
+/**
+ * The enabled constraints of a vertex, sorted by priority, each one with the attribute it is checked against.
+ *
+ * Constraints hold no state : a single instance of each constraint class is shared by all the plans.
+ *
+ * @param <T>
+ */
+public class ConstraintPlan<T> {
+
+	private static final Map<Class<? extends Constraint>, Constraint> CONSTRAINTS = new ConcurrentHashMap<>();
+
+	static Constraint getConstraint(Class<? extends Constraint> clazz) throws InstantiationException, IllegalAccessException {
+		Constraint constraint = CONSTRAINTS.get(clazz);
+		if (constraint == null) {
+			constraint = clazz.newInstance();
+			Constraint previous = CONSTRAINTS.putIfAbsent(clazz, constraint);
+			if (previous != null)
+				constraint = previous;
+		}
+		return constraint;
+	}
+
+	private final Constraint[] constraints;
+	private final Object[] attributes;
+
+	ConstraintPlan(List<Constraint> constraints, List<T> attributes) {
+		assert constraints.size() == attributes.size();
+		this.constraints = constraints.toArray(new Constraint[constraints.size()]);
+		this.attributes = attributes.toArray();
+	}
+
+	int size() {
+		return constraints.length;
+	}
+
+	Constraint getConstraint(int index) {
+		return constraints[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	T getAttribute(int index) {
+		return (T) attributes[index];
+	}
+
+}
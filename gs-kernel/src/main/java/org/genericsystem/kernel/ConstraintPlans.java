@@ -0,0 +1,43 @@
+package org.genericsystem.kernel;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The constraint plans compiled while the system map does not change : a vertex without supers nor system property of its own shares the plan
+ * of its meta.
+ *
+ * @param <T>
+ */
+public class ConstraintPlans<T> {
+
+	private static final int MAX_PLANS = 1 << 14;
+
+	private List<T> keys;
+
+	private final Map<T, ConstraintPlan<T>> plans = new LinkedHashMap<T, ConstraintPlan<T>>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = -4200315337211553498L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<T, ConstraintPlan<T>> eldest) {
+			return size() > MAX_PLANS;
+		}
+	};
+
+	List<T> getKeys(Supplier<List<T>> keysSupplier) {
+		if (keys == null)
+			keys = keysSupplier.get();
+		return keys;
+	}
+
+	ConstraintPlan<T> getPlan(T vertex, Supplier<ConstraintPlan<T>> compiler) {
+		ConstraintPlan<T> plan = plans.get(vertex);
+		if (plan == null)
+			plans.put(vertex, plan = compiler.get());
+		return plan;
+	}
+
+}
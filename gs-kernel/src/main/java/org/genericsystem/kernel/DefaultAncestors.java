@@ -27,14 +27,12 @@ public interface DefaultAncestors<T extends AbstractVertex<T, U>, U extends Defa
 			getRoot().discardWithException(new AliveConstraintViolationException(info()));
 	}
 
+	// An indexed lookup in the instances of the alive meta : liveness is checked for each plugged, removed or rebuilt vertex
+	@SuppressWarnings("unchecked")
 	@Override
 	default T getAlive() {
 		T aliveMeta = getMeta().getAlive();
-		if (aliveMeta != null)
-			for (T instance : aliveMeta.getInstances())
-				if (equals(instance))
-					return instance;
-		return null;
+		return aliveMeta != null ? aliveMeta.getInstances().get((T) this) : null;
 	}
 
 	@Override
@@ -15,6 +15,10 @@ import org.genericsystem.api.core.IVertex;
 
 public interface DefaultDisplay<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> extends IVertex<T, U> {
 
+	default String getCategory() {
+		return Statics.getCategoryString(getLevel(), getComposites().size());
+	}
+
 	@Override
 	default String info() {
 		return "(" + getMeta().getValue() + ")" + getSupers() + this + getComposites() + " ";
@@ -26,7 +30,7 @@ public interface DefaultDisplay<T extends AbstractVertex<T, U>, U extends Defaul
 		s += " Value       : " + getValue() + "\n";
 		s += " Meta        : " + getMeta() + " (" + System.identityHashCode(getMeta()) + ")\n";
 		s += " MetaLevel   : " + Statics.getMetaLevelString(getLevel()) + "\n";
-		s += " Category    : " + Statics.getCategoryString(getLevel(), getComposites().size()) + "\n";
+		s += " Category    : " + getCategory() + "\n";
 		s += " Class       : " + getClass().getName() + "\n";
 		s += "**********************************************************************\n";
 		for (T superGeneric : getSupers())
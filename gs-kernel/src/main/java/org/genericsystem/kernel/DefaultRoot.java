@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.genericsystem.api.core.IRoot;
 import org.genericsystem.api.exception.RollbackException;
@@ -31,6 +32,40 @@ public interface DefaultRoot<T extends AbstractVertex<T, U>, U extends DefaultRo
 		t.checkConstraints(checkingType, isFlushTime);
 	}
 
+	default BulkLoader<T, U> newBulkLoader() {
+		return new BulkLoader<>();
+	}
+
+	default List<T> load(Stream<BulkLoader.Request<T>> requests) {
+		return newBulkLoader().load(requests);
+	}
+
+	// null when results may not be shared between readers
+	default RootCache<T> getRootCache() {
+		return null;
+	}
+
+	// null when vertices are not addressed by id
+	default VertexTable<T> getVertexTable() {
+		return null;
+	}
+
+	default T getVertex(int id) {
+		VertexTable<T> vertexTable = getVertexTable();
+		return vertexTable != null ? vertexTable.get(id) : null;
+	}
+
+	// false when the vertices of this root must be read from the thread of their context
+	default boolean isForkJoinEnabled() {
+		return false;
+	}
+
+	// null when constraint plans are compiled for each check
+	default ConstraintPlans<T> getConstraintPlans() {
+		RootCache<T> rootCache = getRootCache();
+		return rootCache != null ? rootCache.getConstraintPlans() : null;
+	}
+
 	@SuppressWarnings("unchecked")
 	default T getMetaAttribute() {
 		return ((T) this).getDirectInstance(getValue(), Collections.singletonList((T) this));
@@ -2,6 +2,7 @@ package org.genericsystem.kernel;
 
 import java.util.AbstractMap;
 import java.util.Iterator;
+import java.util.Objects;
 
 import org.genericsystem.api.core.Snapshot;
 
@@ -38,6 +39,17 @@ public interface Dependencies<T> extends Snapshot<T> {
 		public DependenciesEntry(T key, Dependencies<T> value) {
 			super(key, value);
 		}
+
+		// An entry is identified by its key : its value is a mutable dependencies
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof DependenciesEntry && Objects.equals(getKey(), ((DependenciesEntry<?>) obj).getKey());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey());
+		}
 	}
 
 }
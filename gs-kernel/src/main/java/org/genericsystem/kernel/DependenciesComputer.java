@@ -1,35 +1,130 @@
 package org.genericsystem.kernel;
 
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
+/**
+ * Collects the dependencies of a vertex : the visited vertices accepted by checkDependency, with their components, inheritings and instances.
+ *
+ * The graph is walked with an explicit stack, so that long chains of vertices do not overflow the thread stack, and the dependencies are
+ * ordered as a depth-first walk would order them : each one after its own dependencies. In fork-join mode, the dependencies of the vertices
+ * having at least FORK_THRESHOLD dependencies are read ahead by the threads of the common pool ; the walk itself, which decides the order,
+ * stays sequential.
+ *
+ * @param <T>
+ * @param <U>
+ */
 abstract class DependenciesComputer<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> extends LinkedHashSet<T> {
 	private static final long serialVersionUID = -5970021419012502402L;
-	private final Set<T> alreadyVisited = new HashSet<>();
+
+	static final int FORK_THRESHOLD = 1 << 8;
+	private static final int SPLIT_THRESHOLD = 1 << 6;
+
+	private final VertexBitSet<T, U> alreadyVisited = new VertexBitSet<>();
+	private final boolean forkJoin;
+	private final Map<T, List<T>> readAhead;
+
+	DependenciesComputer() {
+		this(false);
+	}
+
+	DependenciesComputer(boolean forkJoin) {
+		this.forkJoin = forkJoin;
+		readAhead = forkJoin ? new ConcurrentHashMap<>() : Collections.emptyMap();
+	}
 
 	abstract boolean checkDependency(T node);
 
 	DependenciesComputer<T, U> visit(T node) {
-		if (!alreadyVisited.contains(node))
-			if (checkDependency(node))
-				addDependency(node);
+		Deque<Frame<T>> stack = new ArrayDeque<>();
+		enter(stack, node, false);
+		while (!stack.isEmpty()) {
+			Frame<T> frame = stack.peek();
+			if (frame.children.hasNext())
+				enter(stack, frame.children.next(), frame.isDependency);
 			else {
-				alreadyVisited.add(node);
-				node.getComponents().forEach(this::visit);
-				node.getInheritings().forEach(this::visit);
-				node.getInstances().forEach(this::visit);
+				stack.pop();
+				if (frame.isDependency)
+					super.add(frame.node);
 			}
+		}
 		return this;
 	}
 
-	private void addDependency(T node) {
+	private void enter(Deque<Frame<T>> stack, T node, boolean isDependency) {
 		if (!alreadyVisited.contains(node)) {
+			boolean dependency = isDependency || checkDependency(node);
 			alreadyVisited.add(node);
-			node.getComponents().forEach(this::addDependency);
-			node.getInheritings().forEach(this::addDependency);
-			node.getInstances().forEach(this::addDependency);
-			super.add(node);
+			List<T> children = readAhead.get(node);
+			if (children == null) {
+				children = getChildren(node);
+				if (dependency && forkJoin && children.size() >= FORK_THRESHOLD)
+					ForkJoinPool.commonPool().invoke(new ReadAhead(new ArrayDeque<>(children)));
+			}
+			stack.push(new Frame<>(node, dependency, children.iterator()));
+		}
+	}
+
+	private static <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> List<T> getChildren(T node) {
+		List<T> children = new ArrayList<>();
+		node.getComponents().forEach(children::add);
+		node.getInheritings().forEach(children::add);
+		node.getInstances().forEach(children::add);
+		return children;
+	}
+
+	private static class Frame<T> {
+		private final T node;
+		private final boolean isDependency;
+		private final Iterator<T> children;
+
+		private Frame(T node, boolean isDependency, Iterator<T> children) {
+			this.node = node;
+			this.isDependency = isDependency;
+			this.children = children;
+		}
+	}
+
+	// Reads the dependencies of the subgraph while the visiting thread waits : alreadyVisited is not modified meanwhile
+	private class ReadAhead extends RecursiveAction {
+		private static final long serialVersionUID = -1580394312474633591L;
+
+		private final Deque<T> nodes;
+
+		private ReadAhead(Deque<T> nodes) {
+			this.nodes = nodes;
+		}
+
+		@Override
+		protected void compute() {
+			List<ReadAhead> forks = new ArrayList<>();
+			while (!nodes.isEmpty()) {
+				if (nodes.size() > SPLIT_THRESHOLD) {
+					Deque<T> half = new ArrayDeque<>();
+					for (int i = nodes.size() / 2; i > 0; i--)
+						half.push(nodes.pollLast());
+					ReadAhead fork = new ReadAhead(half);
+					fork.fork();
+					forks.add(fork);
+				}
+				T node = nodes.pop();
+				if (!alreadyVisited.contains(node) && !readAhead.containsKey(node)) {
+					List<T> children = getChildren(node);
+					if (readAhead.putIfAbsent(node, children) == null)
+						children.forEach(nodes::push);
+				}
+			}
+			forks.forEach(ForkJoinTask::join);
 		}
 	}
-}
\ No newline at end of file
+}
@@ -2,13 +2,15 @@ package org.genericsystem.kernel;
 
 import java.util.Iterator;
 
+import org.genericsystem.api.core.SizedSnapshot;
 import org.genericsystem.api.core.Snapshot.AbstractSnapshot;
 import org.genericsystem.kernel.iterator.AbstractGeneralAwareIterator;
 
-class DependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T> {
+class DependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T>, SizedSnapshot<T> {
 
 	private Node<T> head = null;
 	private Node<T> tail = null;
+	private int size;
 
 	@Override
 	public void add(T element) {
@@ -20,6 +22,7 @@ class DependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T>
 		else
 			tail.next = newNode;
 		tail = newNode;
+		size++;
 	}
 
 	@Override
@@ -33,6 +36,11 @@ class DependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T>
 		return false;
 	}
 
+	@Override
+	public int size() {
+		return size;
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return head == null;
@@ -62,6 +70,7 @@ class DependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T>
 		public void remove() {
 			if (next == null)
 				throw new IllegalStateException();
+			size--;
 			if (last == null) {
 				head = next.next;
 				return;
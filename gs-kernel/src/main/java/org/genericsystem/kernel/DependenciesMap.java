@@ -0,0 +1,34 @@
+package org.genericsystem.kernel;
+
+import java.util.function.Supplier;
+
+import org.genericsystem.kernel.Dependencies.DependenciesEntry;
+
+/**
+ * A multimap of dependencies : each key (a meta or a super) owns its own dependencies.
+ *
+ * Lookup by key is expected to be O(1), so that the dependencies of a key are reached without scanning the other keys.
+ *
+ * @param <T>
+ */
+public interface DependenciesMap<T> extends Dependencies<DependenciesEntry<T>> {
+
+	Dependencies<T> getByIndex(T index);
+
+	default Dependencies<T> getOrBuildByIndex(T index, Supplier<Dependencies<T>> dependenciesSupplier) {
+		Dependencies<T> dependencies = getByIndex(index);
+		if (dependencies == null)
+			add(new DependenciesEntry<>(index, dependencies = dependenciesSupplier.get()));
+		return dependencies;
+	}
+
+	default T index(T index, T dependency, Supplier<Dependencies<T>> dependenciesSupplier) {
+		return getOrBuildByIndex(index, dependenciesSupplier).set(dependency);
+	}
+
+	default boolean unIndex(T index, T dependency) {
+		Dependencies<T> dependencies = getByIndex(index);
+		return dependencies != null && dependencies.remove(dependency);
+	}
+
+}
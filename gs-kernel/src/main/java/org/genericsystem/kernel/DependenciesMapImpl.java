@@ -0,0 +1,75 @@
+package org.genericsystem.kernel;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.genericsystem.api.core.Snapshot.AbstractSnapshot;
+import org.genericsystem.kernel.Dependencies.DependenciesEntry;
+
+/**
+ * Insertion ordered entries with a concurrent index by key : readers may look up a key while a writer adds another one.
+ *
+ * The entries are held by a dependencies of the layer, which decides how they are iterated : in a layer with timestamps, an iteration sees
+ * only the entries it would see in its own dependencies.
+ *
+ * @param <T>
+ */
+public class DependenciesMapImpl<T> extends AbstractSnapshot<DependenciesEntry<T>> implements DependenciesMap<T> {
+
+	private final Map<T, DependenciesEntry<T>> index = new ConcurrentHashMap<>();
+	private final Dependencies<DependenciesEntry<T>> entries;
+
+	public DependenciesMapImpl() {
+		this(new DependenciesImpl<>());
+	}
+
+	public DependenciesMapImpl(Dependencies<DependenciesEntry<T>> entries) {
+		this.entries = entries;
+	}
+
+	@Override
+	public Dependencies<T> getByIndex(T key) {
+		DependenciesEntry<T> entry = index.get(key);
+		return entry != null ? entry.getValue() : null;
+	}
+
+	@Override
+	public void add(DependenciesEntry<T> entry) {
+		assert !index.containsKey(entry.getKey());
+		entries.add(entry);
+		index.put(entry.getKey(), entry);
+	}
+
+	@Override
+	public boolean remove(DependenciesEntry<T> entry) {
+		DependenciesEntry<T> removed = index.remove(entry.getKey());
+		return removed != null && entries.remove(removed);
+	}
+
+	@Override
+	public DependenciesEntry<T> get(DependenciesEntry<T> entry) {
+		return index.get(entry.getKey());
+	}
+
+	@Override
+	public boolean contains(Object entry) {
+		return entry instanceof DependenciesEntry && index.containsKey(((DependenciesEntry<?>) entry).getKey());
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	@Override
+	public Iterator<DependenciesEntry<T>> iterator() {
+		return entries.iterator();
+	}
+
+}
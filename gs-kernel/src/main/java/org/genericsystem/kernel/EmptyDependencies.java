@@ -0,0 +1,111 @@
+package org.genericsystem.kernel;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import org.genericsystem.api.core.SizedSnapshot;
+import org.genericsystem.api.core.Snapshot.AbstractSnapshot;
+import org.genericsystem.kernel.Dependencies.DependenciesEntry;
+
+/**
+ * The dependencies of a vertex before their first insertion : one immutable empty instance is shared by all vertices, which allocate their own
+ * dependencies when a first dependency is indexed.
+ */
+final class EmptyDependencies {
+
+	private EmptyDependencies() {
+	}
+
+	private static final Dependencies<?> DEPENDENCIES = new EmptyDependenciesImpl<>();
+	private static final DependenciesMap<?> DEPENDENCIES_MAP = new EmptyDependenciesMapImpl<>();
+
+	@SuppressWarnings("unchecked")
+	static <T> Dependencies<T> dependencies() {
+		return (Dependencies<T>) DEPENDENCIES;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> DependenciesMap<T> dependenciesMap() {
+		return (DependenciesMap<T>) DEPENDENCIES_MAP;
+	}
+
+	private static class EmptyDependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T>, SizedSnapshot<T> {
+
+		@Override
+		public Iterator<T> iterator() {
+			return Collections.emptyIterator();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public T get(T vertex) {
+			return null;
+		}
+
+		@Override
+		public boolean contains(Object vertex) {
+			return false;
+		}
+
+		@Override
+		public boolean remove(T vertex) {
+			return false;
+		}
+
+		@Override
+		public void add(T vertex) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static class EmptyDependenciesMapImpl<T> extends EmptyDependenciesImpl<DependenciesEntry<T>> implements DependenciesMap<T> {
+
+		@Override
+		public Dependencies<T> getByIndex(T index) {
+			return null;
+		}
+	}
+
+	/**
+	 * A live view on dependencies which may not be allocated yet : it reads them again on each call, so that it sees the dependencies added
+	 * after it was taken.
+	 */
+	static class DependenciesView<T> extends AbstractSnapshot<T> implements SizedSnapshot<T> {
+
+		private final Supplier<Dependencies<T>> dependenciesSupplier;
+
+		DependenciesView(Supplier<Dependencies<T>> dependenciesSupplier) {
+			this.dependenciesSupplier = dependenciesSupplier;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return dependenciesSupplier.get().iterator();
+		}
+
+		@Override
+		public int size() {
+			return dependenciesSupplier.get().size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return dependenciesSupplier.get().isEmpty();
+		}
+
+		@Override
+		public T get(T vertex) {
+			return dependenciesSupplier.get().get(vertex);
+		}
+
+		@Override
+		public boolean contains(Object vertex) {
+			return dependenciesSupplier.get().contains(vertex);
+		}
+	}
+}
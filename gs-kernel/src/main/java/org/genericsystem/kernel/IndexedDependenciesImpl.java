@@ -0,0 +1,119 @@
+package org.genericsystem.kernel;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.genericsystem.api.core.SizedSnapshot;
+import org.genericsystem.api.core.Snapshot.AbstractSnapshot;
+import org.genericsystem.kernel.iterator.AbstractGeneralAwareIterator;
+
+/**
+ * Insertion ordered dependencies backed by a hash index : get, set, remove and contains are O(1).
+ *
+ * Removed nodes keep their forward link so that pending iterators are able to resume after them.
+ *
+ * @param <T>
+ */
+class IndexedDependenciesImpl<T> extends AbstractSnapshot<T> implements Dependencies<T>, SizedSnapshot<T> {
+
+	private final Map<T, Node<T>> index = new HashMap<>();
+	private Node<T> head = null;
+	private Node<T> tail = null;
+
+	@Override
+	public void add(T element) {
+		assert element != null;
+		assert !index.containsKey(element);
+		Node<T> newNode = new Node<>(element);
+		if (head == null)
+			head = newNode;
+		else {
+			tail.next = newNode;
+			newNode.previous = tail;
+		}
+		tail = newNode;
+		index.put(element, newNode);
+	}
+
+	@Override
+	public boolean remove(T element) {
+		Node<T> node = index.remove(element);
+		if (node == null)
+			return false;
+		unlink(node);
+		return true;
+	}
+
+	private void unlink(Node<T> node) {
+		node.removed = true;
+		if (node.previous == null)
+			head = node.next;
+		else
+			node.previous.next = node.next;
+		if (node.next == null)
+			tail = node.previous;
+		else
+			node.next.previous = node.previous;
+	}
+
+	@Override
+	public T get(T element) {
+		Node<T> node = index.get(element);
+		return node != null ? node.content : null;
+	}
+
+	@Override
+	public boolean contains(Object element) {
+		return index.containsKey(element);
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return head == null;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new InternalIterator();
+	}
+
+	private class InternalIterator extends AbstractGeneralAwareIterator<Node<T>, T> implements Iterator<T> {
+
+		@Override
+		protected void advance() {
+			do
+				next = next == null ? head : next.next;
+			while (next != null && next.removed);
+		}
+
+		@Override
+		public T project() {
+			return next.content;
+		}
+
+		@Override
+		public void remove() {
+			if (next == null || next.removed)
+				throw new IllegalStateException();
+			IndexedDependenciesImpl.this.remove(next.content);
+		}
+	}
+
+	private static class Node<T> {
+		final T content;
+		Node<T> previous;
+		Node<T> next;
+		boolean removed;
+
+		private Node(T content) {
+			this.content = content;
+		}
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -28,6 +29,10 @@ class InheritanceComputer<T extends AbstractVertex<T, U>, U extends DefaultRoot<
 		return getInheringsStream(base).iterator();
 	}
 
+	List<T> inheritanceList() {
+		return getInheringsStream(base).collect(Collectors.toList());
+	}
+
 	private Stream<T> getInheringsStream(T superVertex) {
 		Collection<T> result = inheritings.get(superVertex);
 		if (result == null)
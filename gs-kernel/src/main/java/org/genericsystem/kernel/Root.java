@@ -2,6 +2,7 @@ package org.genericsystem.kernel;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,17 +11,46 @@ public class Root extends Vertex implements DefaultRoot<Vertex, Root> {
 
 	protected final static Logger log = LoggerFactory.getLogger(Root.class);
 
+	private final RootCache<Vertex> rootCache = new RootCache<>();
+	private final VertexTable<Vertex> vertexTable = new VertexTable<>();
+	private volatile boolean forkJoinEnabled;
+
 	public Root(Class<?>... userClasses) {
 		this(Statics.ENGINE_VALUE, userClasses);
 	}
 
 	public Root(Serializable value, Class<?>... userClasses) {
 		init(false, null, Collections.emptyList(), value, Collections.emptyList());
+		register(vertexTable);
 		Vertex metaAttribut = setInstance(this, getValue(), coerceToTArray(this));
 		setInstance(SystemMap.class, coerceToTArray(this)).enablePropertyConstraint();
 		metaAttribut.disableReferentialIntegrity(Statics.BASE_POSITION);
 	}
 
+	@Override
+	public RootCache<Vertex> getRootCache() {
+		return rootCache;
+	}
+
+	@Override
+	public VertexTable<Vertex> getVertexTable() {
+		return vertexTable;
+	}
+
+	@Override
+	public boolean isForkJoinEnabled() {
+		return forkJoinEnabled && ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	// opt-in : no benchmark on several cores shows the read-ahead of the dependencies faster than the sequential visit yet
+	public void enableForkJoin() {
+		forkJoinEnabled = true;
+	}
+
+	public void disableForkJoin() {
+		forkJoinEnabled = false;
+	}
+
 	@Override
 	public Root getAlive() {
 		return this;
@@ -0,0 +1,119 @@
+package org.genericsystem.kernel;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Results computed from the structure of a root, valid until its next structural modification.
+ *
+ * Every plug or unplug increments the revision and drops the results computed before it. Plugging or unplugging a system map key or one of
+ * its holders also increments the system properties revision and drops the constraint plans.
+ *
+ * Revisions are drawn from one sequence shared by all the root caches : a vertex read through several caches never takes the revision of one
+ * cache for the revision of another.
+ *
+ * @param <T>
+ */
+public class RootCache<T> {
+
+	private static final int MAX_INHERITINGS = 1 << 14;
+
+	private static final AtomicLong REVISIONS = new AtomicLong();
+
+	private long revision = REVISIONS.incrementAndGet();
+	private long systemPropertiesRevision = REVISIONS.incrementAndGet();
+	private Map<InheritingsKey<T>, List<T>> inheritings = buildInheritingsMap();
+	private ConstraintPlans<T> constraintPlans = new ConstraintPlans<>();
+
+	private long hits;
+	private long misses;
+
+	public void structuralModification() {
+		revision = REVISIONS.incrementAndGet();
+		if (!inheritings.isEmpty())
+			inheritings = buildInheritingsMap();
+	}
+
+	public long getRevision() {
+		return revision;
+	}
+
+	public void systemPropertiesModification() {
+		systemPropertiesRevision = REVISIONS.incrementAndGet();
+		constraintPlans = new ConstraintPlans<>();
+	}
+
+	public long getSystemPropertiesRevision() {
+		return systemPropertiesRevision;
+	}
+
+	public ConstraintPlans<T> getConstraintPlans() {
+		return constraintPlans;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	List<T> getInheritings(T base, T origin, int level, Supplier<List<T>> computer) {
+		InheritingsKey<T> key = new InheritingsKey<>(base, origin, level);
+		List<T> result = inheritings.get(key);
+		if (result != null) {
+			hits++;
+			return result;
+		}
+		misses++;
+		long computedRevision = revision;
+		result = Collections.unmodifiableList(computer.get());
+		if (computedRevision == revision)
+			inheritings.put(key, result);
+		return result;
+	}
+
+	private static <T> Map<InheritingsKey<T>, List<T>> buildInheritingsMap() {
+		return new LinkedHashMap<InheritingsKey<T>, List<T>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 8224581207016546016L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<InheritingsKey<T>, List<T>> eldest) {
+				return size() > MAX_INHERITINGS;
+			}
+		};
+	}
+
+	private static class InheritingsKey<T> {
+
+		private final T base;
+		private final T origin;
+		private final int level;
+
+		private InheritingsKey(T base, T origin, int level) {
+			this.base = base;
+			this.origin = origin;
+			this.level = level;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof InheritingsKey))
+				return false;
+			InheritingsKey<?> key = (InheritingsKey<?>) obj;
+			return level == key.level && base.equals(key.base) && origin.equals(key.origin);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(base, origin, level);
+		}
+	}
+}
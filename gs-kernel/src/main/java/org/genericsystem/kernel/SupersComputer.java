@@ -1,10 +1,12 @@
 package org.genericsystem.kernel;
 
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 public class SupersComputer<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> extends LinkedHashSet<T> {
 
@@ -16,7 +18,12 @@ public class SupersComputer<T extends AbstractVertex<T, U>, U extends DefaultRoo
 	private final List<T> composites;
 	private final Serializable value;
 
-	private final Map<T, Boolean> alreadyComputed = new HashMap<>();
+	private final VertexBitSet<T, U> alreadyComputed = new VertexBitSet<>();
+	private final VertexBitSet<T, U> selectables = new VertexBitSet<>();
+
+	// the vertices of which meta, an override or a composite is a specialization : only they can be a meta or a super
+	private final Set<T> specialized = new HashSet<>();
+	private final Set<T> compositesSpecialized = new HashSet<>();
 
 	@SuppressWarnings("unchecked")
 	public SupersComputer(int level, T meta, List<T> overrides, Serializable value, List<T> composites) {
@@ -25,17 +32,21 @@ public class SupersComputer<T extends AbstractVertex<T, U>, U extends DefaultRoo
 		this.overrides = overrides;
 		this.composites = composites;
 		this.value = value;
+		addSpecialized(specialized, meta);
+		overrides.forEach(override -> addAncestors(specialized, override));
+		for (T composite : composites)
+			addSpecialized(compositesSpecialized, composite != null ? composite : meta);
+		specialized.addAll(compositesSpecialized);
 		visit((T) meta.getRoot());
 	}
 
 	private boolean visit(T candidate) {
-		Boolean result = alreadyComputed.get(candidate);
-		if (result != null)
-			return result;
+		if (alreadyComputed.contains(candidate))
+			return selectables.contains(candidate);
 		boolean isMeta = meta.isSpecializationOf(candidate);
 		boolean isSuper = !isMeta && candidate.isSuperOf(meta, overrides, value, composites);
 		if (!isMeta && !isSuper) {
-			alreadyComputed.put(candidate, false);
+			alreadyComputed.add(candidate);
 			return false;
 		}
 		boolean selectable = true;
@@ -43,13 +54,55 @@ public class SupersComputer<T extends AbstractVertex<T, U>, U extends DefaultRoo
 			if (visit(inheriting))
 				selectable = false;
 		if (isMeta)
-			for (T instance : candidate.getInstances())
+			for (T instance : getInstances(candidate))
 				if (visit(instance))
 					selectable = false;
-		result = alreadyComputed.put(candidate, selectable);
-		assert result == null : candidate.info();
+		boolean computed = alreadyComputed.add(candidate);
+		assert computed : candidate.info();
+		if (selectable)
+			selectables.add(candidate);
 		if (selectable && candidate.getLevel() == level && !candidate.equals(meta, overrides, value, composites))
 			add(candidate);
 		return selectable;
 	}
+
+	private static <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> void addSpecialized(Set<T> result, T vertex) {
+		for (T specialized = vertex;; specialized = specialized.getMeta()) {
+			addAncestors(result, specialized);
+			if (specialized.isRoot() || specialized.getLevel() == Statics.META)
+				return;
+		}
+	}
+
+	private static <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> void addAncestors(Set<T> result, T vertex) {
+		result.add(vertex);
+		result.addAll(vertex.getAncestors());
+	}
+
+	// An instance is a meta or a super only when it is specialized, when one of its composites is specialized by a composite, or when it has no
+	// other composite than itself and the value, any value when the property constraint ignores it : the other instances are skipped, and the
+	// few selected are visited in the order of their ids
+	private Iterable<T> getInstances(T candidate) {
+		if (!candidate.isInstancesByValueIndexed() || candidate.getInstances().isEmpty())
+			return candidate.getInstances();
+		Set<T> instances = new HashSet<>();
+		for (T instance : specialized)
+			if (instance.getMeta().equals(candidate) && !instance.equals(candidate))
+				instances.add(instance);
+		for (T composite : compositesSpecialized)
+			composite.getMetaComponents(candidate).forEach(instances::add);
+		if (!composites.isEmpty() && meta.isPropertyConstraintEnabled())
+			for (Dependencies<T> instancesByValue : candidate.getInstancesByValueDependencies().values())
+				instancesByValue.forEach(instances::add);
+		else
+			candidate.getInstancesByValue(value).forEach(instances::add);
+		if (instances.size() <= 1)
+			return instances;
+		// without vertex table, the ids are not set : the order of the instances is kept
+		if (instances.stream().anyMatch(instance -> instance.getId() < 0))
+			return () -> candidate.getInstances().stream().filter(instances::contains).iterator();
+		List<T> ordered = new ArrayList<>(instances);
+		ordered.sort(Comparator.comparingInt(AbstractVertex::getId));
+		return ordered;
+	}
 }
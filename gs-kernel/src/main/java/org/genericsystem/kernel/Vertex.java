@@ -1,6 +1,5 @@
 package org.genericsystem.kernel;
 
-import org.genericsystem.kernel.Dependencies.DependenciesEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,31 +7,6 @@ public class Vertex extends AbstractVertex<Vertex, Root> implements DefaultVerte
 
 	protected static Logger log = LoggerFactory.getLogger(Vertex.class);
 
-	private final Dependencies<Vertex> instances = buildDependencies();
-	private final Dependencies<Vertex> inheritings = buildDependencies();
-	private final Dependencies<DependenciesEntry<Vertex>> superComponents = buildDependencies();
-	private final Dependencies<DependenciesEntry<Vertex>> metaComponents = buildDependencies();
-
-	@Override
-	protected Dependencies<Vertex> getInstancesDependencies() {
-		return instances;
-	}
-
-	@Override
-	protected Dependencies<Vertex> getInheritingsDependencies() {
-		return inheritings;
-	}
-
-	@Override
-	protected Dependencies<DependenciesEntry<Vertex>> getMetaComponentsDependencies() {
-		return metaComponents;
-	}
-
-	@Override
-	protected Dependencies<DependenciesEntry<Vertex>> getSuperComponentsDependencies() {
-		return superComponents;
-	}
-
 	@Override
 	public Vertex newT() {
 		return new Vertex();
@@ -0,0 +1,36 @@
+package org.genericsystem.kernel;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A set of vertices marked by their id in a bitset. Vertices without id, which are not plugged in a kernel root, are kept in a hash set.
+ *
+ * @param <T>
+ */
+class VertexBitSet<T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> {
+
+	private final BitSet ids = new BitSet();
+	private Set<T> withoutId;
+
+	boolean add(T vertex) {
+		int id = vertex.getId();
+		if (id < 0) {
+			if (withoutId == null)
+				withoutId = new HashSet<>();
+			return withoutId.add(vertex);
+		}
+		if (ids.get(id))
+			return false;
+		ids.set(id);
+		return true;
+	}
+
+	boolean contains(T vertex) {
+		int id = vertex.getId();
+		if (id < 0)
+			return withoutId != null && withoutId.contains(vertex);
+		return ids.get(id);
+	}
+}
@@ -0,0 +1,67 @@
+package org.genericsystem.kernel;
+
+import java.util.Arrays;
+
+/**
+ * The plugged vertices of a root, addressed by a dense integer id.
+ *
+ * A vertex gets an id when it is plugged and gives it back when it is unplugged : released ids are reused first, so that the ids stay below
+ * the number of vertices alive at the same time and can index arrays and bitsets.
+ *
+ * @param <T>
+ */
+public class VertexTable<T> {
+
+	private Object[] vertices = new Object[64];
+	private int[] freeIds = new int[16];
+	private int freeCount;
+	private int capacity;
+	private int size;
+
+	int register(T vertex) {
+		int id;
+		if (freeCount > 0)
+			id = freeIds[--freeCount];
+		else {
+			id = capacity++;
+			if (id == vertices.length)
+				vertices = Arrays.copyOf(vertices, vertices.length * 2);
+		}
+		vertices[id] = vertex;
+		size++;
+		return id;
+	}
+
+	void release(int id) {
+		assert vertices[id] != null;
+		vertices[id] = null;
+		if (freeCount == freeIds.length)
+			freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+		freeIds[freeCount++] = id;
+		size--;
+	}
+
+	/**
+	 * @param id
+	 *            the id of a vertex
+	 * @return the vertex plugged with this id, or null
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int id) {
+		return id >= 0 && id < capacity ? (T) vertices[id] : null;
+	}
+
+	/**
+	 * @return the number of plugged vertices
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return an upper bound of the ids in use
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+}
@@ -1,7 +1,7 @@
 package org.genericsystem.kernel.systemproperty.constraints;
 
 import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
 
 import org.genericsystem.api.exception.ConstraintViolationException;
 import org.genericsystem.api.exception.PropertyConstraintViolationException;
@@ -19,13 +19,15 @@ public class PropertyConstraint implements Constraint {
 		if (attribute.getValue().equals(SystemMap.class))
 			return;
 		T base = modified.getComposites().get(Statics.BASE_POSITION);
-		Stream<T> snapshot = base.getHolders((T) attribute).stream().filter(x -> x.getComposites().get(Statics.BASE_POSITION).equals(base)).filter(next -> {
+		Predicate<T> sameComposites = next -> {
+			if (!next.getComposites().get(Statics.BASE_POSITION).equals(base))
+				return false;
 			for (int compositePos = Statics.TARGET_POSITION; compositePos < next.getComposites().size(); compositePos++)
 				if (!Objects.equals(next.getComposites().get(compositePos), modified.getComposites().get(compositePos)))
 					return false;
 			return true;
-		});
-		if (snapshot.count() > 1)
+		};
+		if (base.getHoldersCount((T) attribute, sameComposites, 1) == -1 && base.getHolders((T) attribute).stream().filter(sameComposites).count() > 1)
 			throw new PropertyConstraintViolationException(modified + " has more than one " + attribute);
 	}
 
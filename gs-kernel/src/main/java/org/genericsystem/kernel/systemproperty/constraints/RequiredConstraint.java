@@ -10,7 +10,10 @@ public class RequiredConstraint implements Constraint {
 
 	@Override
 	public <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> void check(DefaultVertex<T, U> modified, DefaultVertex<T, U> attribute) throws ConstraintViolationException {
-		if (modified.isConcrete() && modified.getHolders((T) attribute).isEmpty())
+		if (!modified.isConcrete())
+			return;
+		Boolean hasHolders = ((T) modified).hasHolders((T) attribute);
+		if (hasHolders != null ? !hasHolders : modified.getHolders((T) attribute).isEmpty())
 			throw new RequiredConstraintViolationException(modified + " has more than one " + attribute);
 	}
 
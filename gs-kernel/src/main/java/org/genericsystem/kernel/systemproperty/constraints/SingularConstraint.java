@@ -12,7 +12,7 @@ public class SingularConstraint implements Constraint {
 	@Override
 	public <T extends AbstractVertex<T, U>, U extends DefaultRoot<T, U>> void check(DefaultVertex<T, U> modified, DefaultVertex<T, U> attribute) throws ConstraintViolationException {
 		T base = modified.getComposites().get(Statics.BASE_POSITION);
-		if (base.getHolders((T) attribute).size() > 1)
+		if (base.getHoldersCount((T) attribute, holder -> true, 1) == -1 && base.getHolders((T) attribute).size() > 1)
 			throw new SingularConstraintViolationException(modified + " has more than one " + attribute);
 	}
 
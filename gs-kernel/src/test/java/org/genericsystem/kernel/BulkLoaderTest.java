@@ -0,0 +1,96 @@
+package org.genericsystem.kernel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.genericsystem.api.exception.ExistsException;
+import org.genericsystem.kernel.BulkLoader.Request;
+import org.testng.annotations.Test;
+
+@Test
+public class BulkLoaderTest extends AbstractTest {
+
+	public void test001_load() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		List<Vertex> vehicles = root.load(IntStream.range(0, 10).mapToObj(i -> new Request<>(vehicle, Collections.emptyList(), "myVehicle" + i, Collections.emptyList())));
+		List<Vertex> powers = root.load(vehicles.stream().map(myVehicle -> new Request<>(power, Collections.emptyList(), 233, Arrays.asList(myVehicle))));
+		assert vehicle.getInstances().size() == 10 && vehicle.getInstances().containsAll(vehicles);
+		for (int i = 0; i < 10; i++) {
+			assert vehicles.get(i).getValue().equals("myVehicle" + i);
+			assert vehicles.get(i).getHolders(power).size() == 1 && vehicles.get(i).getHolders(power).contains(powers.get(i));
+		}
+		assert vehicle.getInstance("myVehicle3") == vehicles.get(3);
+	}
+
+	public void test002_usualPathWhenInherited() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex car = root.addInstance(vehicle, "Car");
+		Vertex myCar = car.addInstance("myCar");
+		Vertex myCar233 = power.addInstance(233, myCar);
+		BulkLoader<Vertex, Root> loader = root.newBulkLoader();
+		Vertex myCar250 = loader.addInstance(power, Collections.emptyList(), 250, Arrays.asList(myCar));
+		Vertex default233 = loader.addInstance(power, Collections.emptyList(), 233, Arrays.asList(vehicle));
+		assert loader.getLoaded() == 1 && loader.getBound() == 1;
+		assert myCar250.isAlive() && !myCar233.isAlive();
+		Vertex newMyCar233 = myCar.getHolders(power).stream().filter(holder -> holder.getComposites().contains(myCar) && holder.getValue().equals(233)).findFirst().get();
+		assert newMyCar233.getSupers().contains(default233) : newMyCar233.info();
+	}
+
+	public void test003_existingInstance() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		power.addInstance(233, myVehicle);
+		BulkLoader<Vertex, Root> loader = root.newBulkLoader();
+		catchAndCheckCause(() -> loader.addInstance(vehicle, Collections.emptyList(), "myVehicle", Collections.emptyList()), ExistsException.class);
+		catchAndCheckCause(() -> loader.addInstance(power, Collections.emptyList(), 233, Arrays.asList(myVehicle)), ExistsException.class);
+		assert myVehicle.getHolders(power).contains(loader.setInstance(power, Collections.emptyList(), 233, Arrays.asList(myVehicle)));
+	}
+
+	public void test004_throughput() {
+		int count = 1000;
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++)
+			power.addInstance(i, vehicle.addInstance("myVehicle" + i));
+		long perCall = System.nanoTime() - start;
+
+		Root bulkRoot = new Root();
+		Vertex bulkVehicle = bulkRoot.addInstance("Vehicle");
+		Vertex bulkPower = bulkRoot.addInstance("Power", bulkVehicle);
+		BulkLoader<Vertex, Root> loader = bulkRoot.newBulkLoader();
+		start = System.nanoTime();
+		List<Vertex> vehicles = loader.load(IntStream.range(0, count).mapToObj(i -> new Request<>(bulkVehicle, Collections.emptyList(), "myVehicle" + i, Collections.emptyList())));
+		loader.load(IntStream.range(0, count).mapToObj(i -> new Request<>(bulkPower, Collections.emptyList(), i, Arrays.asList(vehicles.get(i)))));
+		long bulk = System.nanoTime() - start;
+		assert loader.getLoaded() == 2 * count && loader.getBound() == 0;
+		assert bulkVehicle.getInstances().stream().map(Vertex::getValue).collect(Collectors.toSet()).equals(vehicle.getInstances().stream().map(Vertex::getValue).collect(Collectors.toSet()));
+		log.info("Loading " + count + " instances and their holders : " + perCall / (2 * count) + " ns per addInstance, " + bulk / (2 * count) + " ns per loaded instance");
+	}
+
+	public void test005_modifiedOutsideTheLoader() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex red = color.addInstance("red");
+		BulkLoader<Vertex, Root> loader = root.newBulkLoader();
+		loader.addInstance(vehicle, Collections.emptyList(), "myVehicle", Collections.emptyList());
+		loader.addInstance(vehicle, Collections.emptyList(), "yourVehicle", Collections.emptyList());
+		assert loader.getLoaded() == 2 && loader.getBound() == 0;
+		Vertex myRedVehicle = vehicle.addInstance("myOtherVehicle", red);
+		Vertex myOtherVehicle = loader.addInstance(vehicle, Collections.emptyList(), "myOtherVehicle", Collections.emptyList());
+		assert loader.getLoaded() == 2 && loader.getBound() == 1;
+		assert !myRedVehicle.isAlive();
+		assert vehicle.getInstances().stream().anyMatch(instance -> instance.getSupers().contains(myOtherVehicle));
+	}
+}
@@ -0,0 +1,91 @@
+package org.genericsystem.kernel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+@Test
+public class CompactSignatureTest extends AbstractTest {
+
+	public void test001_sharedComposites() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex color = root.addInstance("Color", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicle233 = power.addInstance(233, myVehicle);
+		Vertex myVehicleRed = color.addInstance("red", myVehicle);
+		assert myVehicle233.getComposites() == myVehicleRed.getComposites();
+		assert power.getComposites() == color.getComposites();
+		assert myVehicle.getSupers() == myVehicle233.getSupers();
+	}
+
+	public void test002_sharedValues() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex yourVehicle = vehicle.addInstance("yourVehicle");
+		Vertex myVehicleRed = color.addInstance(new String("red"), myVehicle);
+		Vertex yourVehicleRed = color.addInstance(new String("red"), yourVehicle);
+		assert myVehicleRed.getValue() == yourVehicleRed.getValue();
+		String description = String.join(" ", Collections.nCopies(10, "red")).intern();
+		String yourDescription = new String(description);
+		Vertex yourVehicleDescription = color.addInstance(yourDescription, yourVehicle);
+		assert yourVehicleDescription.getValue() == yourDescription;
+	}
+
+	public void test003_compactComposites() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex time = root.addInstance("Time");
+		Vertex vehicleColorTime = root.addInstance("VehicleColorTime", vehicle, color, time);
+		Vertex link = vehicleColorTime.addInstance("link", vehicle.addInstance("myVehicle"), color.addInstance("red"), time.addInstance("now"));
+		List<Vertex> composites = link.getComposites();
+		assert !(composites instanceof ArrayList);
+		assert composites.size() == 3 && composites.get(2).getValue().equals("now");
+		assert composites.equals(new ArrayList<>(composites)) && composites.hashCode() == new ArrayList<>(composites).hashCode();
+		try {
+			composites.set(0, vehicle);
+			assert false;
+		} catch (UnsupportedOperationException ignore) {
+		}
+		Vertex tree = root.addTree("Tree");
+		assert tree.getComposites().get(0) == tree;
+	}
+
+	public void test004_bytesPerVertex() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex color = root.addInstance("Color", vehicle);
+		Vertex vehicleColor = root.addInstance("VehicleColor", vehicle, color);
+		List<Vertex> colors = new ArrayList<>();
+		for (String value : new String[] { "red", "blue", "green", "yellow" })
+			colors.add(color.addInstance(value, vehicle));
+		int before = root.getVertexTable().size();
+		long used = usedHeap(memory);
+		for (int i = 0; i < 1000; i++) {
+			Vertex myVehicle = vehicle.addInstance("myVehicle" + i);
+			power.addInstance(i % 10, myVehicle);
+			color.addInstance(new String(colors.get(i % 4).getValue().toString()), myVehicle);
+			vehicleColor.addInstance(Boolean.valueOf(i % 2 == 0), myVehicle, colors.get(i % 4));
+		}
+		long bytes = usedHeap(memory) - used;
+		int count = root.getVertexTable().size() - before;
+		log.info("retained " + bytes / count + " bytes per vertex for " + count + " vertices");
+		assert count == 4000;
+	}
+
+	private static long usedHeap(MemoryMXBean memory) {
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+}
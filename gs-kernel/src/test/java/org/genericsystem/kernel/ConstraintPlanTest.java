@@ -0,0 +1,74 @@
+package org.genericsystem.kernel;
+
+import org.genericsystem.api.exception.PropertyConstraintViolationException;
+import org.genericsystem.api.exception.SingularConstraintViolationException;
+import org.genericsystem.kernel.systemproperty.constraints.Constraint.CheckingType;
+import org.testng.annotations.Test;
+
+@Test
+public class ConstraintPlanTest extends AbstractTest {
+
+	public void test001_holdersShareThePlanOfTheirAttribute() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex red = color.addInstance("red");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicleRed = myVehicle.addHolder(vehicleColor, "myVehicleRed", red);
+		ConstraintPlan<Vertex> plan = vehicleColor.getConstraintPlan();
+		assert plan.size() == 1 && plan.getAttribute(0) == vehicleColor;
+		assert myVehicleRed.getConstraintPlan() == plan;
+		assert vehicleColor.getConstraintPlan() == plan;
+	}
+
+	public void test002_systemPropertyChangesRecompile() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = vehicle.addAttribute("Power");
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		ConstraintPlan<Vertex> plan = power.getConstraintPlan();
+		assert plan.size() == 0;
+		power.enablePropertyConstraint();
+		assert power.getConstraintPlan() != plan && power.getConstraintPlan().size() == 1;
+		myVehicle.addHolder(power, 233);
+		catchAndCheckCause(() -> myVehicle.addHolder(power, 250), PropertyConstraintViolationException.class);
+		power.disablePropertyConstraint();
+		assert power.getConstraintPlan().size() == 0;
+		myVehicle.addHolder(power, 300);
+	}
+
+	public void test003_subTypesCompileTheirOwnPlan() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex car = root.addInstance(vehicle, "Car");
+		Vertex color = root.addInstance("Color");
+		Vertex red = color.addInstance("red");
+		Vertex yellow = color.addInstance("yellow");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		Vertex carColor = car.addAttribute(vehicleColor, "CarColor", color);
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		assert carColor.getConstraintPlan() != vehicleColor.getConstraintPlan();
+		assert carColor.getConstraintPlan().size() == 1;
+		Vertex myCar = car.addInstance("myCar");
+		myCar.addHolder(carColor, "myCarRed", red);
+		catchAndCheckCause(() -> myCar.addHolder(carColor, "myCarYellow", yellow), SingularConstraintViolationException.class);
+	}
+
+	public void test004_checkTiming() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		Vertex red = color.addInstance("red");
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicleRed = myVehicle.addHolder(vehicleColor, "myVehicleRed", red);
+		int iterations = 100000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			myVehicleRed.checkConstraints(CheckingType.CHECK_ON_ADD, true);
+		log.info("Constraint check of a holder : " + (System.nanoTime() - start) / iterations + " ns per check");
+	}
+}
@@ -0,0 +1,107 @@
+package org.genericsystem.kernel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.genericsystem.kernel.BulkLoader.Request;
+import org.testng.annotations.Test;
+
+@Test
+public class DependenciesComputerTest extends AbstractTest {
+
+	private static final int DEPTH = 20000;
+
+	private static List<Vertex> buildChain(Root root, Vertex tree) {
+		List<Vertex> chain = new ArrayList<>();
+		chain.add(tree.addRoot("node0"));
+		BulkLoader<Vertex, Root> loader = root.newBulkLoader();
+		for (int i = 1; i < DEPTH; i++)
+			chain.add(loader.addInstance(tree, Collections.emptyList(), "node" + i, Arrays.asList(chain.get(i - 1))));
+		return chain;
+	}
+
+	public void test001_removeDeepChain() {
+		Root root = new Root();
+		Vertex tree = root.addTree("Tree");
+		List<Vertex> chain = buildChain(root, tree);
+		chain.get(0).remove();
+		assert chain.stream().noneMatch(Vertex::isAlive);
+		assert tree.getInstances().isEmpty();
+	}
+
+	public void test002_updateDeepChain() {
+		Root root = new Root();
+		Vertex tree = root.addTree("Tree");
+		List<Vertex> chain = buildChain(root, tree);
+		Vertex newNode1 = chain.get(1).updateValue("newNode1");
+		assert chain.get(0).isAlive() && chain.stream().skip(1).noneMatch(Vertex::isAlive);
+		assert tree.getInstances().size() == DEPTH;
+		Vertex node = chain.get(0);
+		for (int i = 1; i < DEPTH; i++)
+			node = node.getSubNodes().stream().findFirst().get();
+		assert node.getValue().equals("node" + (DEPTH - 1)) : node.info();
+		assert chain.get(0).getSubNodes().stream().findFirst().get() == newNode1;
+	}
+
+	public void test003_orderPreserved() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex car = root.addInstance(vehicle, "Car");
+		Vertex myCar = car.addInstance("myCar");
+		Vertex myCar233 = power.addInstance(233, myCar);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicle233 = power.addInstance(233, myVehicle);
+		List<Vertex> dependencies = new ArrayList<>(vehicle.computeDependencies());
+		assert dependencies.equals(Arrays.asList(myCar233, myVehicle233, power, myCar, car, myVehicle, vehicle)) : dependencies;
+		assert new ArrayList<>(computeDependencies(root, vehicle, true)).equals(dependencies);
+	}
+
+	public void test004_forkJoinCascade() {
+		int count = 50000;
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		List<Vertex> vehicles = root.load(IntStream.range(0, count).mapToObj(i -> new Request<>(vehicle, Collections.emptyList(), "myVehicle" + i, Collections.emptyList())));
+		root.load(vehicles.stream().map(myVehicle -> new Request<>(power, Collections.emptyList(), myVehicle.getValue(), Arrays.asList(myVehicle))));
+		List<Vertex> sequential = null;
+		List<Vertex> forkJoin = null;
+		long sequentialTime = Long.MAX_VALUE;
+		long forkJoinTime = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long start = System.nanoTime();
+			sequential = new ArrayList<>(computeDependencies(root, vehicle, false));
+			sequentialTime = Math.min(sequentialTime, System.nanoTime() - start);
+			start = System.nanoTime();
+			forkJoin = new ArrayList<>(computeDependencies(root, vehicle, true));
+			forkJoinTime = Math.min(forkJoinTime, System.nanoTime() - start);
+		}
+		assert sequential.size() == 2 * count + 2;
+		assert forkJoin.equals(sequential);
+		log.info("Dependencies of a cascade of " + (2 * count + 2) + " vertices : " + sequentialTime / 1000000 + " ms sequential, " + forkJoinTime / 1000000 + " ms fork-join");
+	}
+
+	public void test005_forkJoinOptIn() {
+		Root root = new Root();
+		assert !root.isForkJoinEnabled();
+		root.enableForkJoin();
+		assert root.isForkJoinEnabled() == ForkJoinPool.getCommonPoolParallelism() > 1;
+		root.disableForkJoin();
+		assert !root.isForkJoinEnabled();
+	}
+
+	private static DependenciesComputer<Vertex, Root> computeDependencies(Root root, Vertex vertex, boolean forkJoin) {
+		return new DependenciesComputer<Vertex, Root>(forkJoin) {
+			private static final long serialVersionUID = -2237367707466012307L;
+
+			@Override
+			boolean checkDependency(Vertex node) {
+				return vertex.isAncestorOf(node);
+			}
+		}.visit(root);
+	}
+}
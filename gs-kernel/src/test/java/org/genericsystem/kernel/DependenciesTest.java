@@ -0,0 +1,173 @@
+package org.genericsystem.kernel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.genericsystem.api.core.SizedSnapshot;
+import org.testng.annotations.Test;
+
+@Test
+public class DependenciesTest extends AbstractTest {
+
+	public void test001_insertionOrder() {
+		Dependencies<String> dependencies = new IndexedDependenciesImpl<>();
+		dependencies.add("a");
+		dependencies.add("b");
+		dependencies.add("c");
+		assert dependencies.stream().collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("a", "b", "c"));
+		assert dependencies.size() == 3;
+	}
+
+	public void test002_getAndSet() {
+		Dependencies<String> dependencies = new IndexedDependenciesImpl<>();
+		String a = new String("a");
+		assert dependencies.set(a) == a;
+		assert dependencies.set(new String("a")) == a;
+		assert dependencies.get("a") == a;
+		assert dependencies.get("b") == null;
+		assert dependencies.contains("a");
+		assert !dependencies.contains("b");
+	}
+
+	public void test003_remove() {
+		Dependencies<String> dependencies = new IndexedDependenciesImpl<>();
+		dependencies.add("a");
+		dependencies.add("b");
+		dependencies.add("c");
+		assert dependencies.remove("b");
+		assert !dependencies.remove("b");
+		assert dependencies.stream().collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("a", "c"));
+		assert dependencies.remove("c");
+		dependencies.add("d");
+		assert dependencies.stream().collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("a", "d"));
+		assert dependencies.remove("a");
+		assert dependencies.remove("d");
+		assert dependencies.isEmpty();
+		dependencies.add("e");
+		assert dependencies.stream().collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("e"));
+	}
+
+	public void test004_removeWhileIterating() {
+		Dependencies<String> dependencies = new IndexedDependenciesImpl<>();
+		dependencies.add("a");
+		dependencies.add("b");
+		dependencies.add("c");
+		List<String> iterated = new ArrayList<>();
+		Iterator<String> iterator = dependencies.iterator();
+		while (iterator.hasNext()) {
+			String next = iterator.next();
+			iterated.add(next);
+			dependencies.remove(next);
+		}
+		assert iterated.equals(Arrays.asList("a", "b", "c")) : iterated;
+		assert dependencies.isEmpty();
+	}
+
+	public void test005_iteratorRemove() {
+		Dependencies<String> dependencies = new IndexedDependenciesImpl<>();
+		dependencies.add("a");
+		dependencies.add("b");
+		Iterator<String> iterator = dependencies.iterator();
+		iterator.next();
+		iterator.remove();
+		assert !dependencies.contains("a");
+		assert dependencies.size() == 1;
+	}
+
+	public void test006_vertexDependencies() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		for (int i = 0; i < 100; i++)
+			vehicle.addInstance("myVehicle" + i);
+		Vertex myVehicle50 = vehicle.getInstance("myVehicle50");
+		assert vehicle.getInstances().contains(myVehicle50);
+		myVehicle50.remove();
+		assert !vehicle.getInstances().contains(myVehicle50);
+		assert vehicle.getInstances().size() == 99;
+	}
+
+	public void test007_bulkInsertAgainstFanOut() {
+		for (int fanOut : new int[] { 1000, 4000, 16000 }) {
+			long linked = bulkInsertAndRemove(DependenciesImpl::new, fanOut);
+			long indexed = bulkInsertAndRemove(IndexedDependenciesImpl::new, fanOut);
+			log.info("Fan-out " + fanOut + " : linked " + linked / Statics.MILLI_TO_NANOSECONDS + " ms, indexed " + indexed / Statics.MILLI_TO_NANOSECONDS + " ms");
+		}
+	}
+
+	private static long bulkInsertAndRemove(Supplier<Dependencies<Object>> supplier, int fanOut) {
+		Object[] elements = new Object[fanOut];
+		for (int i = 0; i < fanOut; i++)
+			elements[i] = new Object();
+		long start = System.nanoTime();
+		Dependencies<Object> dependencies = supplier.get();
+		for (Object element : elements)
+			dependencies.set(element);
+		for (Object element : elements)
+			assert dependencies.remove(element);
+		assert dependencies.isEmpty();
+		return System.nanoTime() - start;
+	}
+
+	public void test008_dependenciesMap() {
+		DependenciesMap<String> multimap = new DependenciesMapImpl<>();
+		assert multimap.getByIndex("a") == null;
+		assert multimap.index("a", "a1", IndexedDependenciesImpl::new).equals("a1");
+		assert multimap.index("b", "b1", IndexedDependenciesImpl::new).equals("b1");
+		assert multimap.index("a", "a2", IndexedDependenciesImpl::new).equals("a2");
+		assert multimap.size() == 2;
+		assert multimap.getByIndex("a").stream().collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("a1", "a2"));
+		assert multimap.stream().map(entry -> entry.getKey()).collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("a", "b"));
+		assert multimap.unIndex("a", "a1");
+		assert !multimap.unIndex("a", "a1");
+		assert !multimap.unIndex("c", "c1");
+		assert multimap.getByIndex("a").stream().collect(java.util.stream.Collectors.toList()).equals(Arrays.asList("a2"));
+	}
+
+	public void test009_metaComponentsOnPopularTarget() {
+		Root root = new Root();
+		Vertex target = root.addInstance("Target");
+		Vertex source = root.addInstance("Source");
+		int relations = 2000;
+		Vertex[] metas = new Vertex[relations];
+		for (int i = 0; i < relations; i++)
+			metas[i] = root.addInstance("Relation" + i, source, target);
+		Vertex mySource = source.addInstance("mySource");
+		Vertex myTarget = target.addInstance("myTarget");
+		for (Vertex meta : metas)
+			meta.addInstance("link", mySource, myTarget);
+		long start = System.nanoTime();
+		for (Vertex meta : metas)
+			assert myTarget.getMetaComponents(meta).size() == 1;
+		log.info("Meta components lookup on " + relations + " keys : " + (System.nanoTime() - start) / Statics.MILLI_TO_NANOSECONDS + " ms");
+	}
+
+	public void test010_sized() {
+		for (Supplier<Dependencies<String>> supplier : Arrays.<Supplier<Dependencies<String>>> asList(DependenciesImpl::new, IndexedDependenciesImpl::new)) {
+			Dependencies<String> dependencies = supplier.get();
+			assert dependencies instanceof SizedSnapshot;
+			dependencies.add("a");
+			dependencies.add("b");
+			dependencies.add("c");
+			assert dependencies.size() == 3;
+			assert dependencies.remove("b");
+			assert !dependencies.remove("b");
+			assert dependencies.size() == 2;
+			Iterator<String> iterator = dependencies.iterator();
+			iterator.next();
+			iterator.remove();
+			assert dependencies.size() == 1 && !dependencies.isEmpty();
+			assert dependencies.remove("c");
+			assert dependencies.size() == 0 && dependencies.isEmpty();
+		}
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		power.addInstance(233, myVehicle);
+		assert myVehicle.getMetaComponents(power) instanceof SizedSnapshot && myVehicle.getMetaComponents(power).size() == 1;
+		assert myVehicle.getMetaComponents(vehicle).size() == 0;
+	}
+}
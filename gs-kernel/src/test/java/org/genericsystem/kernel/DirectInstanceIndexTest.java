@@ -0,0 +1,93 @@
+package org.genericsystem.kernel;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.annotations.Test;
+
+@Test
+public class DirectInstanceIndexTest extends AbstractTest {
+
+	public void test001_getDirectInstance_byValue() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		Vertex myCar = vehicle.addInstance("myCar");
+		vehicle.addInstance("myBike");
+		assert vehicle.getDirectInstance("myCar", Collections.emptyList()) == myCar;
+		assert vehicle.getDirectInstance("myTruck", Collections.emptyList()) == null;
+		assert vehicle.setInstance("myCar") == myCar;
+		assert vehicle.getInstances().size() == 2;
+	}
+
+	public void test002_getDirectInstance_nullValue() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		Vertex myVehicle = vehicle.addInstance((java.io.Serializable) null);
+		assert vehicle.getDirectInstance(null, Collections.emptyList()) == myVehicle;
+		assert vehicle.setInstance((java.io.Serializable) null) == myVehicle;
+	}
+
+	public void test003_getDirectInstance_selfComposite() {
+		Root engine = new Root();
+		Vertex tree = engine.addInstance("Tree");
+		Vertex root = tree.addInstance("root", (Vertex) null);
+		assert root.getComposites().equals(Arrays.asList(root));
+		assert tree.getDirectInstance("root", Arrays.asList((Vertex) null)) == root;
+		assert tree.getDirectInstance("root", Arrays.asList(root)) == root;
+		Vertex child = tree.addInstance("child", root);
+		assert tree.getDirectInstance("child", Arrays.asList(root)) == child;
+		assert tree.setInstance("child", root) == child;
+		assert tree.setInstance("root", (Vertex) null) == root;
+	}
+
+	public void test004_getDirectInstance_afterRemove() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		Vertex myCar = vehicle.addInstance("myCar");
+		myCar.remove();
+		assert vehicle.getDirectInstance("myCar", Collections.emptyList()) == null;
+		Vertex myNewCar = vehicle.addInstance("myCar");
+		assert vehicle.getDirectInstance("myCar", Collections.emptyList()) == myNewCar;
+	}
+
+	public void test005_getDirectEquivInstance_singular() {
+		Root engine = new Root();
+		Vertex car = engine.addInstance("Car");
+		Vertex color = engine.addInstance("Color");
+		Vertex carColor = engine.addInstance("CarColor", car, color);
+		carColor.enableSingularConstraint(0);
+		Vertex myBmw = car.addInstance("myBmw");
+		Vertex green = color.addInstance("green");
+		Vertex yellow = color.addInstance("yellow");
+		Vertex myBmwGreen = carColor.addInstance("myBmwGreen", myBmw, green);
+		assert carColor.getDirectEquivInstance("myBmwYellow", Arrays.asList(myBmw, yellow)) == myBmwGreen;
+		assert carColor.getDirectEquivInstance("myBmwYellow", Arrays.asList(car.addInstance("myAudi"), yellow)) == null;
+	}
+
+	public void test006_getDirectEquivInstance_property() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		Vertex power = engine.addInstance("Power", vehicle);
+		power.enablePropertyConstraint();
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex v233 = power.addInstance(233, myVehicle);
+		assert power.getDirectEquivInstance(233, Arrays.asList(myVehicle)) == v233;
+		assert power.getDirectEquivInstance(234, Arrays.asList(myVehicle)) == v233;
+		Vertex v234 = power.setInstance(234, myVehicle);
+		assert !v233.isAlive();
+		assert power.getInstances().size() == 1 && power.getInstances().contains(v234);
+	}
+
+	public void test007_setInstanceOnLargeType() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		int size = 2000;
+		for (int i = 0; i < size; i++)
+			vehicle.addInstance("myVehicle" + i);
+		long start = System.nanoTime();
+		for (int i = 0; i < size; i++)
+			vehicle.setInstance("myVehicle" + i);
+		assert vehicle.getInstances().size() == size;
+		log.info("Set again " + size + " existing instances : " + (System.nanoTime() - start) / Statics.MILLI_TO_NANOSECONDS + " ms");
+	}
+}
@@ -0,0 +1,112 @@
+package org.genericsystem.kernel;
+
+import java.util.Arrays;
+
+import org.genericsystem.api.exception.ConstraintViolationException;
+import org.genericsystem.api.exception.RequiredConstraintViolationException;
+import org.genericsystem.api.exception.SingularConstraintViolationException;
+import org.genericsystem.kernel.systemproperty.constraints.RequiredConstraint;
+import org.testng.annotations.Test;
+
+@Test
+public class HoldersCountTest extends AbstractTest {
+
+	public void test001_countedFromIndex() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 0;
+		power.addInstance(233, myVehicle);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 1;
+		Vertex v250 = power.addInstance(250, myVehicle);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == -1;
+		assert myVehicle.getHoldersCount(power, holder -> true, 2) == 2;
+		assert myVehicle.getHoldersCount(power, holder -> !holder.equals(v250), 1) == 1;
+		v250.remove();
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 1;
+	}
+
+	public void test002_unknownWhenInherited() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex car = root.addInstance(vehicle, "Car");
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myCar = car.addInstance("myCar");
+		assert myCar.getHoldersCount(power, holder -> true, 1) == -1;
+		power.addInstance(235, vehicle);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == -1;
+		assert myVehicle.getHolders(power).size() == 1;
+	}
+
+	public void test003_unknownWhenSpecializedOrOverridden() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex v233 = power.addInstance(233, myVehicle);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 1;
+		Vertex v260 = myVehicle.addHolder(power, Arrays.asList(v233), 260);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == -1;
+		assert myVehicle.getHolders(power).contains(v260) && !myVehicle.getHolders(power).contains(v233);
+		v260.remove();
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 1;
+		Vertex car = root.addInstance(vehicle, "Car");
+		root.addInstance(power, "CarPower", car);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == -1;
+		assert myVehicle.getHolders(power).size() == 1;
+	}
+
+	public void test004_singularTiming() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		int count = 500;
+		Vertex[] colors = new Vertex[count];
+		for (int i = 0; i < count; i++)
+			colors[i] = color.addInstance("color" + i);
+		Vertex[] vehicles = new Vertex[count];
+		for (int i = 0; i < count; i++)
+			vehicles[i] = vehicle.addInstance("myVehicle" + i);
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++)
+			vehicles[i].addHolder(vehicleColor, "myVehicleColor" + i, colors[i]);
+		log.info("Holder add under a singular constraint : " + (System.nanoTime() - start) / count + " ns per add");
+		catchAndCheckCause(() -> vehicles[0].addHolder(vehicleColor, "myVehicleColor", colors[1]), SingularConstraintViolationException.class);
+	}
+
+	public void test005_requiredWhenNoneCounted() throws ConstraintViolationException {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 0;
+		try {
+			new RequiredConstraint().check(myVehicle, power);
+			assert false : "Unable to catch any required constraint violation!";
+		} catch (RequiredConstraintViolationException ignore) {}
+		power.addInstance(233, myVehicle);
+		assert myVehicle.getHoldersCount(power, holder -> true, 1) == 1;
+		new RequiredConstraint().check(myVehicle, power);
+	}
+
+	public void test006_hasHoldersFromIndex() throws ConstraintViolationException {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		assert Boolean.FALSE.equals(myVehicle.hasHolders(power));
+		Vertex v233 = power.addInstance(233, myVehicle);
+		power.addInstance(250, myVehicle);
+		assert Boolean.TRUE.equals(myVehicle.hasHolders(power));
+		new RequiredConstraint().check(myVehicle, power);
+		myVehicle.addHolder(power, Arrays.asList(v233), 260);
+		assert myVehicle.hasHolders(power) == null;
+		new RequiredConstraint().check(myVehicle, power);
+		Vertex car = root.addInstance(vehicle, "Car");
+		assert car.addInstance("myCar").hasHolders(power) == null;
+	}
+}
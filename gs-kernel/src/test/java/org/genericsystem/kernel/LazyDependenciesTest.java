@@ -0,0 +1,52 @@
+package org.genericsystem.kernel;
+
+import org.genericsystem.api.core.Snapshot;
+import org.testng.annotations.Test;
+
+@Test
+public class LazyDependenciesTest extends AbstractTest {
+
+	public void test001_leafShareEmptyDependencies() {
+		Dependencies<Vertex> empty = EmptyDependencies.dependencies();
+		DependenciesMap<Vertex> emptyMap = EmptyDependencies.dependenciesMap();
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicle233 = power.addInstance(233, myVehicle);
+		assert myVehicle233.getInstancesDependencies() == empty;
+		assert myVehicle233.getInheritingsDependencies() == empty;
+		assert myVehicle233.getMetaComponentsDependencies() == emptyMap;
+		assert myVehicle233.getSuperComponentsDependencies() == emptyMap;
+		assert myVehicle233.getInstancesByValueDependencies().isEmpty();
+		assert myVehicle.getMetaComponentsDependencies() != emptyMap;
+		assert myVehicle.getInstancesDependencies() == empty;
+		assert vehicle.getInstancesDependencies() != empty;
+	}
+
+	public void test002_liveSnapshots() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Snapshot<Vertex> instances = vehicle.getInstances();
+		Snapshot<Vertex> inheritings = vehicle.getInheritings();
+		assert instances.isEmpty() && instances.size() == 0 && inheritings.isEmpty();
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex car = root.addInstance(vehicle, "Car");
+		assert instances.size() == 1 && instances.contains(myVehicle) && instances.get(myVehicle) == myVehicle;
+		assert inheritings.size() == 1 && inheritings.contains(car);
+		myVehicle.remove();
+		assert instances.isEmpty() && vehicle.getInstances().isEmpty();
+		assert vehicle.addInstance("myVehicle").getAlive() != null;
+	}
+
+	public void test003_emptyDependenciesAreImmutable() {
+		Dependencies<Vertex> empty = EmptyDependencies.dependencies();
+		Root root = new Root();
+		assert !empty.remove(root) && empty.get(root) == null && !empty.contains(root);
+		try {
+			empty.add(root);
+			assert false;
+		} catch (UnsupportedOperationException ignore) {
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package org.genericsystem.kernel;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+@Test
+public class RootCacheTest extends AbstractTest {
+
+	public void test001_repeatedReadsAreHits() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex v233 = power.addInstance(233, myVehicle);
+		RootCache<Vertex> rootCache = root.getRootCache();
+		assert myVehicle.getHolders(power).contains(v233);
+		long hits = rootCache.getHits();
+		long misses = rootCache.getMisses();
+		for (int i = 0; i < 10; i++)
+			assert myVehicle.getHolders(power).size() == 1;
+		assert rootCache.getHits() == hits + 10 : rootCache.getHits() - hits;
+		assert rootCache.getMisses() == misses;
+	}
+
+	public void test002_plugInvalidates() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex car = root.addInstance(Arrays.asList(vehicle), "Car");
+		Vertex myCar = car.addInstance("myCar");
+		assert myCar.getHolders(power).isEmpty();
+		long revision = root.getRootCache().getRevision();
+		Vertex v233 = power.addInstance(233, vehicle);
+		assert root.getRootCache().getRevision() > revision;
+		assert myCar.getHolders(power).contains(v233) : myCar.getHolders(power);
+		Vertex v250 = power.addInstance(250, myCar);
+		assert myCar.getHolders(power).contains(v250) && myCar.getHolders(power).size() == 2 : myCar.getHolders(power);
+	}
+
+	public void test003_unplugInvalidates() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex v233 = power.addInstance(233, myVehicle);
+		assert myVehicle.getHolders(power).contains(v233);
+		v233.remove();
+		assert myVehicle.getHolders(power).isEmpty();
+		assert vehicle.getAttributes(root).contains(power);
+		power.remove();
+		assert !vehicle.getAttributes(root).contains(power);
+	}
+
+	public void test004_repeatedReadsTiming() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex car = root.addInstance(Arrays.asList(vehicle), "Car");
+		Vertex[] attributes = new Vertex[20];
+		for (int i = 0; i < attributes.length; i++)
+			attributes[i] = root.addInstance("Attribute" + i, vehicle);
+		Vertex myCar = car.addInstance("myCar");
+		for (Vertex attribute : attributes)
+			attribute.addInstance("value", myCar);
+		int iterations = 1000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			for (Vertex attribute : attributes)
+				assert myCar.getHolders(attribute).size() == 1;
+		log.info("Repeated getHolders : " + (System.nanoTime() - start) / (iterations * attributes.length) + " ns per call, " + root.getRootCache().getHits() + " hits, " + root.getRootCache().getMisses() + " misses");
+	}
+}
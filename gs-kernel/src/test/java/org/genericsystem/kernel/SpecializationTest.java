@@ -0,0 +1,84 @@
+package org.genericsystem.kernel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+@Test
+public class SpecializationTest extends AbstractTest {
+
+	public void test001_levelAndCategory() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		Vertex power = engine.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex v233 = power.addInstance(233, myVehicle);
+		assert engine.getLevel() == Statics.META && engine.getCategory().equals("MetaType");
+		assert engine.getMetaAttribute().getLevel() == Statics.META && engine.getMetaAttribute().getCategory().equals("MetaAttribute");
+		assert vehicle.getLevel() == Statics.STRUCTURAL && vehicle.getCategory().equals("Type");
+		assert power.getLevel() == Statics.STRUCTURAL && power.getCategory().equals("Attribute");
+		assert myVehicle.getLevel() == Statics.CONCRETE && myVehicle.getCategory().equals("Instance");
+		assert v233.getLevel() == Statics.CONCRETE && v233.getCategory().equals("Holder");
+		assert v233.getRoot() == engine && vehicle.getRoot() == engine;
+	}
+
+	public void test002_isSpecializationOf_deepHierarchy() {
+		Root engine = new Root();
+		int depth = 200;
+		Vertex[] types = new Vertex[depth];
+		types[0] = engine.addInstance("Type0");
+		for (int i = 1; i < depth; i++)
+			types[i] = engine.addInstance(types[i - 1], "Type" + i);
+		Vertex instance = types[depth - 1].addInstance("instance");
+		assert types[depth - 1].isSpecializationOf(types[0]);
+		assert !types[0].isSpecializationOf(types[depth - 1]);
+		assert instance.isSpecializationOf(types[0]);
+		assert instance.isSpecializationOf(engine);
+
+		int iterations = 2000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			assert instance.isSpecializationOf(types[i % depth]);
+			assert !types[i % depth].isSpecializationOf(instance);
+		}
+		log.info("isSpecializationOf on a hierarchy of depth " + depth + " : " + (System.nanoTime() - start) / iterations + " ns per call");
+	}
+
+	public void test003_inheritsFrom_multiInheritance() {
+		Root engine = new Root();
+		Vertex vehicle = engine.addInstance("Vehicle");
+		Vertex robot = engine.addInstance("Robot");
+		Vertex car = engine.addInstance(vehicle, "Car");
+		Vertex transformer = engine.addInstance(Arrays.asList(car, robot), "Transformer");
+		Vertex myTransformer = transformer.addInstance("myTransformer");
+		assert transformer.inheritsFrom(car) && transformer.inheritsFrom(vehicle) && transformer.inheritsFrom(robot);
+		assert !car.inheritsFrom(robot) && !vehicle.inheritsFrom(transformer);
+		assert !myTransformer.inheritsFrom(transformer) && myTransformer.isSpecializationOf(vehicle);
+		assert !transformer.inheritsFrom(engine) && transformer.isSpecializationOf(engine);
+	}
+
+	public void test004_inheritsFrom_wideHierarchy() {
+		Root engine = new Root();
+		int width = 50;
+		int depth = 20;
+		List<Vertex> level = new ArrayList<>();
+		for (int i = 0; i < width; i++)
+			level.add(engine.addInstance("Type0_" + i));
+		Vertex first = level.get(0);
+		for (int d = 1; d < depth; d++) {
+			List<Vertex> next = new ArrayList<>();
+			for (int i = 0; i < width; i++)
+				next.add(engine.addInstance(Arrays.asList(level.get(i), level.get((i + 1) % width)), "Type" + d + "_" + i));
+			level = next;
+		}
+		Vertex leaf = level.get(0);
+		assert leaf.inheritsFrom(first);
+		int iterations = 10000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			assert leaf.inheritsFrom(first) && !first.inheritsFrom(leaf);
+		log.info("inheritsFrom on a hierarchy of width " + width + " and depth " + depth + " : " + (System.nanoTime() - start) / iterations + " ns per call");
+	}
+}
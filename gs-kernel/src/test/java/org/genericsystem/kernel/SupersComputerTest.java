@@ -0,0 +1,92 @@
+package org.genericsystem.kernel;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.testng.annotations.Test;
+
+@Test
+public class SupersComputerTest extends AbstractTest {
+
+	public void test001_defaultHolderIsSuper() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex default233 = power.addInstance(233, vehicle);
+		for (int i = 0; i < 10; i++)
+			power.addInstance(i, vehicle.addInstance("myVehicle" + i));
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicle233 = power.addInstance(233, myVehicle);
+		Vertex myVehicle250 = power.addInstance(250, myVehicle);
+		assert myVehicle233.getSupers().equals(Collections.singletonList(default233)) : myVehicle233.info();
+		assert myVehicle250.getSupers().isEmpty() : myVehicle250.info();
+	}
+
+	public void test002_overrideIsSuper() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex v233 = power.addInstance(233, myVehicle);
+		for (int i = 0; i < 10; i++)
+			power.addInstance(i, myVehicle);
+		Vertex v250 = power.addInstance(v233, 250, myVehicle);
+		assert v250.getSupers().equals(Collections.singletonList(v233)) : v250.info();
+	}
+
+	public void test003_specializedComposites() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex car = root.addInstance(vehicle, "Car");
+		Vertex color = root.addInstance("Color");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		Vertex red = color.addInstance("red");
+		Vertex vehicleRed = vehicle.addHolder(vehicleColor, "outside", red);
+		Vertex myCar = car.addInstance("myCar");
+		Vertex myCarRed = myCar.addHolder(vehicleColor, "outside", red);
+		Vertex myCarInside = myCar.addHolder(vehicleColor, "inside", red);
+		assert myCarRed.getSupers().equals(Collections.singletonList(vehicleRed)) : myCarRed.info();
+		assert myCarInside.getSupers().isEmpty() : myCarInside.info();
+		Vertex carColor = car.addAttribute(vehicleColor, "CarColor", color);
+		assert carColor.getSupers().equals(Collections.singletonList(vehicleColor)) : carColor.info();
+	}
+
+	public void test004_propertyIgnoresValue() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		power.enablePropertyConstraint();
+		Vertex default233 = power.addInstance(233, vehicle);
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicle250 = power.addInstance(250, myVehicle);
+		assert myVehicle250.getSupers().equals(Collections.singletonList(default233)) : myVehicle250.info();
+	}
+
+	public void test005_propertyWithoutComposites() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex options = root.addInstance("Options");
+		// an instance without composites is refused once the property constraint is enabled
+		Vertex defaultOptions = options.addInstance("default");
+		options.enablePropertyConstraint();
+		for (int i = 0; i < 10; i++)
+			options.addInstance(i, vehicle.addInstance("myVehicle" + i));
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		Vertex myVehicleOptions = options.addInstance("sport", myVehicle);
+		assert myVehicleOptions.getSupers().equals(Collections.singletonList(defaultOptions)) : myVehicleOptions.info();
+	}
+
+	public void test006_siblingInsertionsTiming() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		int count = 1000;
+		Vertex[] vehicles = new Vertex[count];
+		for (int i = 0; i < count; i++)
+			vehicles[i] = vehicle.addInstance("myVehicle" + i);
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++)
+			new SupersComputer<>(Statics.CONCRETE, power, Collections.emptyList(), i, Arrays.asList(vehicles[i]));
+		log.info("Supers of a holder among " + count + " siblings : " + (System.nanoTime() - start) / count + " ns per computation");
+	}
+}
@@ -0,0 +1,65 @@
+package org.genericsystem.kernel;
+
+import org.testng.annotations.Test;
+
+@Test
+public class SystemPropertyFlagsTest extends AbstractTest {
+
+	public void test001_enableAndDisable() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		assert !vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+		assert !vehicleColor.isPropertyConstraintEnabled();
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		assert vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+		assert !vehicleColor.isSingularConstraintEnabled(Statics.TARGET_POSITION);
+		vehicleColor.enablePropertyConstraint();
+		assert vehicleColor.isPropertyConstraintEnabled();
+		vehicleColor.disableSingularConstraint(Statics.BASE_POSITION);
+		assert !vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION);
+		assert vehicleColor.isPropertyConstraintEnabled();
+		vehicleColor.disablePropertyConstraint();
+		assert !vehicleColor.isPropertyConstraintEnabled();
+	}
+
+	public void test002_inheritedByInstancesAndSubTypes() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex car = root.addInstance(vehicle, "Car");
+		Vertex myCar = car.addInstance("myCar");
+		assert myCar.isReferentialIntegrityEnabled(Statics.BASE_POSITION) == car.isReferentialIntegrityEnabled(Statics.BASE_POSITION);
+		assert !car.isCascadeRemove(Statics.BASE_POSITION);
+		vehicle.enableCascadeRemove(Statics.BASE_POSITION);
+		assert vehicle.isCascadeRemove(Statics.BASE_POSITION);
+		assert car.isCascadeRemove(Statics.BASE_POSITION);
+		vehicle.disableCascadeRemove(Statics.BASE_POSITION);
+		assert !car.isCascadeRemove(Statics.BASE_POSITION);
+	}
+
+	public void test003_onlySystemMapChangesInvalidate() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		long revision = root.getRootCache().getSystemPropertiesRevision();
+		vehicle.addInstance("myVehicle");
+		root.addInstance("Color");
+		assert root.getRootCache().getSystemPropertiesRevision() == revision;
+		vehicle.enableRequiredConstraint(Statics.NO_POSITION);
+		assert root.getRootCache().getSystemPropertiesRevision() > revision;
+		assert vehicle.isRequiredConstraintEnabled(Statics.NO_POSITION);
+	}
+
+	public void test004_repeatedChecksTiming() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex color = root.addInstance("Color");
+		Vertex vehicleColor = vehicle.addAttribute("VehicleColor", color);
+		vehicleColor.enableSingularConstraint(Statics.BASE_POSITION);
+		int iterations = 1000000;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++)
+			assert vehicleColor.isSingularConstraintEnabled(Statics.BASE_POSITION) && !vehicleColor.isPropertyConstraintEnabled();
+		log.info("Repeated system property checks : " + (System.nanoTime() - start) / iterations + " ns per iteration");
+	}
+}
@@ -0,0 +1,54 @@
+package org.genericsystem.kernel;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+@Test
+public class VertexTableTest extends AbstractTest {
+
+	public void test001_idOnPlug() {
+		Root root = new Root();
+		assert root.getId() == 0 && root.getVertex(0) == root;
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		assert vehicle.getId() > 0 && myVehicle.getId() > 0 && vehicle.getId() != myVehicle.getId();
+		assert root.getVertex(vehicle.getId()) == vehicle;
+		assert root.getVertex(myVehicle.getId()) == myVehicle;
+		assert root.getVertex(-1) == null && root.getVertex(root.getVertexTable().getCapacity()) == null;
+	}
+
+	public void test002_releasedOnUnplug() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex myVehicle = vehicle.addInstance("myVehicle");
+		int id = myVehicle.getId();
+		int size = root.getVertexTable().size();
+		myVehicle.remove();
+		assert myVehicle.getId() == -1 && root.getVertex(id) == null;
+		assert root.getVertexTable().size() == size - 1;
+		Vertex yourVehicle = vehicle.addInstance("yourVehicle");
+		assert yourVehicle.getId() == id && root.getVertex(id) == yourVehicle;
+	}
+
+	public void test003_denseAfterUpdates() {
+		Root root = new Root();
+		Vertex vehicle = root.addInstance("Vehicle");
+		Vertex power = root.addInstance("Power", vehicle);
+		for (int i = 0; i < 100; i++)
+			power.addInstance(i, vehicle.addInstance("myVehicle" + i));
+		int capacity = root.getVertexTable().getCapacity();
+		for (int i = 0; i < 100; i++)
+			vehicle.getInstance("myVehicle" + i).updateValue("newVehicle" + i);
+		assert root.getVertexTable().getCapacity() <= capacity + 2 : root.getVertexTable().getCapacity() + " " + capacity;
+		Set<Integer> ids = new HashSet<>();
+		for (Vertex myVehicle : vehicle.getInstances()) {
+			assert root.getVertex(myVehicle.getId()) == myVehicle;
+			assert ids.add(myVehicle.getId());
+			for (Vertex holder : myVehicle.getHolders(power))
+				assert ids.add(holder.getId()) && root.getVertex(holder.getId()) == holder;
+		}
+		assert ids.size() == 200;
+	}
+}
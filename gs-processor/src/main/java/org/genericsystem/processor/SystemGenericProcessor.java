@@ -0,0 +1,294 @@
+package org.genericsystem.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a schema of the @SystemGeneric classes of each package : a SystemGenericSchema class registering the meta, supers, composites,
+ * value and constraints of each class, and the service file that lists the schemas.
+ *
+ * A class the schema could not reference, private or nested in a private class, is left out : it is still described by reflection at
+ * runtime.
+ *
+ * An incremental build compiles again the sources generated by the previous one. The name of a schema ends with a digest of its content : an
+ * up to date schema is found under its name and kept, an outdated one is left to compile and deleted, and a new schema is generated under
+ * another name. The schemas reference the described classes by name, so that an outdated one still compiles when they are removed.
+ */
+@SupportedAnnotationTypes(SystemGenericProcessor.SYSTEM_GENERIC)
+public class SystemGenericProcessor extends AbstractProcessor {
+
+	static final String ANNOTATIONS = "org.genericsystem.impl.annotations.";
+	static final String SYSTEM_GENERIC = ANNOTATIONS + "SystemGeneric";
+	static final String SCHEMA = "org.genericsystem.impl.Schema";
+	static final String DESCRIPTOR = "org.genericsystem.impl.SystemGenericDescriptor";
+	static final String SCHEMA_NAME = "SystemGenericSchema";
+
+	// the constraint annotations, in the order of SystemGenericDescriptor.reflect
+	private static final List<String> CONSTRAINTS = Collections.unmodifiableList(Arrays.asList(ANNOTATIONS + "constraints.PropertyConstraint", ANNOTATIONS + "constraints.RequiredConstraint", ANNOTATIONS + "constraints.SingletonConstraint", ANNOTATIONS
+			+ "constraints.SingularConstraint", ANNOTATIONS + "constraints.SizeConstraint", ANNOTATIONS + "constraints.UniqueValueConstraint", ANNOTATIONS + "constraints.VirtualConstraint", ANNOTATIONS + "constraints.InstanceValueClassConstraint", ANNOTATIONS
+			+ "NoInheritance"));
+
+	// the name of the schema class in its source, until its digest is known
+	private static final String SCHEMA_NAME_PLACEHOLDER = "$" + SCHEMA_NAME + "$";
+
+	private final Set<String> packages = new TreeSet<>();
+	private final Set<String> schemas = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			if (!schemas.isEmpty())
+				writeServices();
+			return false;
+		}
+		Map<String, List<TypeElement>> byPackage = new TreeMap<>();
+		for (TypeElement annotation : annotations)
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation))
+				if (element.getKind().isClass() || element.getKind().isInterface()) {
+					TypeElement type = (TypeElement) element;
+					String packageName = getPackage(type).getQualifiedName().toString();
+					if (isAccessible(type, packageName))
+						byPackage.computeIfAbsent(packageName, name -> new ArrayList<>()).add(type);
+					else
+						processingEnv.getMessager().printMessage(Kind.NOTE, "Not accessible from " + SCHEMA_NAME + ", described by reflection", type);
+				}
+		byPackage.forEach(this::writeSchema);
+		return false;
+	}
+
+	private PackageElement getPackage(Element element) {
+		return processingEnv.getElementUtils().getPackageOf(element);
+	}
+
+	private boolean isAccessible(TypeElement type, String packageName) {
+		for (Element element = type; element.getKind() != ElementKind.PACKAGE; element = element.getEnclosingElement()) {
+			if (element.getModifiers().contains(Modifier.PRIVATE))
+				return false;
+			if (!element.getModifiers().contains(Modifier.PUBLIC) && !getPackage(element).getQualifiedName().contentEquals(packageName))
+				return false;
+		}
+		return true;
+	}
+
+	private void writeSchema(String packageName, List<TypeElement> types) {
+		if (!packages.add(packageName)) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "@SystemGeneric classes of " + packageName + " generated in more than one round", types.get(0));
+			return;
+		}
+		List<String> descriptors = new ArrayList<>();
+		for (TypeElement type : types) {
+			String descriptor = describe(type, packageName);
+			if (descriptor != null)
+				descriptors.add(descriptor);
+		}
+		StringWriter source = new StringWriter();
+		try (PrintWriter out = new PrintWriter(source)) {
+			if (!packageName.isEmpty())
+				out.println("package " + packageName + ";");
+			out.println();
+			out.println("/**");
+			out.println(" * Generated by " + SystemGenericProcessor.class.getName() + " from the @SystemGeneric classes of this package.");
+			out.println(" */");
+			out.println("public class " + SCHEMA_NAME_PLACEHOLDER + " extends " + SCHEMA + " {");
+			out.println();
+			out.println("\tpublic " + SCHEMA_NAME_PLACEHOLDER + "() {");
+			for (String descriptor : descriptors)
+				out.println("\t\tadd(" + descriptor + ");");
+			out.println("\t}");
+			out.println("}");
+		}
+		String simpleName = SCHEMA_NAME + "_" + digest(source.toString());
+		String schemaName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		schemas.add(schemaName);
+		try {
+			// generated by a previous build from the same classes
+			if (deleteOutdatedSchemas(packageName, simpleName) && processingEnv.getElementUtils().getTypeElement(schemaName) != null)
+				return;
+			try (Writer out = processingEnv.getFiler().createSourceFile(schemaName, types.toArray(new Element[types.size()])).openWriter()) {
+				out.write(source.toString().replace(SCHEMA_NAME_PLACEHOLDER, simpleName));
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Unable to write " + schemaName + " : " + e);
+		}
+	}
+
+	private static String digest(String source) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+			StringBuilder result = new StringBuilder();
+			for (int i = 0; i < 8; i++)
+				result.append(String.format("%02x", digest[i]));
+			return result.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// deletes the outdated schemas of the package generated by previous builds : they are compiled by this one, not by the next
+	// returns true if the source of the current schema is already generated
+	private boolean deleteOutdatedSchemas(String packageName, String simpleName) throws IOException {
+		FileObject current = processingEnv.getFiler().getResource(StandardLocation.SOURCE_OUTPUT, packageName, simpleName + ".java");
+		Path currentPath;
+		try {
+			currentPath = Paths.get(current.toUri());
+		} catch (IllegalArgumentException | FileSystemNotFoundException e) {
+			return false;
+		}
+		Path directory = currentPath.getParent();
+		if (directory == null || !Files.isDirectory(directory))
+			return false;
+		try (DirectoryStream<Path> outdated = Files.newDirectoryStream(directory, SCHEMA_NAME + "_*.java")) {
+			for (Path path : outdated)
+				if (!path.equals(currentPath))
+					Files.deleteIfExists(path);
+		}
+		return Files.exists(currentPath);
+	}
+
+	// the expression building the descriptor of type, or null if it references a class the schema can't reference
+	private String describe(TypeElement type, String packageName) {
+		Elements elements = processingEnv.getElementUtils();
+		String meta = "null";
+		String supers = "new Class<?>[] {}";
+		String composites = "new Class<?>[] {}";
+		String value = classExpression(type);
+		StringBuilder constraints = new StringBuilder();
+		for (AnnotationMirror mirror : elements.getAllAnnotationMirrors(type)) {
+			String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			Object annotationValue = getValue(mirror);
+			switch (name) {
+			case ANNOTATIONS + "Meta":
+				if (!isAccessible((TypeMirror) annotationValue, packageName))
+					return null;
+				meta = classExpression((TypeMirror) annotationValue);
+				break;
+			case ANNOTATIONS + "Supers":
+			case ANNOTATIONS + "Composites":
+				StringBuilder classes = new StringBuilder("new Class<?>[] {");
+				for (AnnotationValue clazz : asList(annotationValue)) {
+					if (!isAccessible((TypeMirror) clazz.getValue(), packageName))
+						return null;
+					classes.append(classes.length() > 16 ? ", " : " ").append(classExpression((TypeMirror) clazz.getValue()));
+				}
+				classes.append(classes.length() > 16 ? " }" : "}");
+				if (name.endsWith("Supers"))
+					supers = classes.toString();
+				else
+					composites = classes.toString();
+				break;
+			case ANNOTATIONS + "value.BooleanValue":
+			case ANNOTATIONS + "value.IntValue":
+			case ANNOTATIONS + "value.StringValue":
+				value = elements.getConstantExpression(annotationValue);
+				break;
+			default:
+			}
+		}
+		// the constraints in a fixed order, whatever the order of the annotations
+		for (String constraint : CONSTRAINTS)
+			for (AnnotationMirror mirror : elements.getAllAnnotationMirrors(type))
+				if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(constraint)) {
+					Object annotationValue = getValue(mirror);
+					String constraintValue;
+					if (annotationValue == null)
+						constraintValue = "null";
+					else if (annotationValue instanceof TypeMirror) {
+						if (!isAccessible((TypeMirror) annotationValue, packageName))
+							return null;
+						constraintValue = classExpression((TypeMirror) annotationValue);
+					} else {
+						StringBuilder positions = new StringBuilder("new int[] {");
+						for (AnnotationValue position : asList(annotationValue))
+							positions.append(positions.length() > 11 ? ", " : " ").append(position.getValue());
+						constraintValue = positions.append(positions.length() > 11 ? " }" : "}").toString();
+					}
+					constraints.append(".addConstraint(").append(constraint).append(".class, ").append(constraintValue).append(")");
+				}
+		return "new " + DESCRIPTOR + "(" + classExpression(type) + ", " + meta + ", " + supers + ", " + composites + ", " + value + ")" + constraints;
+	}
+
+	// the value of the annotation, with its default, or null if it has no value
+	private Object getValue(AnnotationMirror mirror) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet())
+			if (entry.getKey().getSimpleName().contentEquals("value"))
+				return entry.getValue().getValue();
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<? extends AnnotationValue> asList(Object annotationValue) {
+		return (List<? extends AnnotationValue>) annotationValue;
+	}
+
+	private boolean isAccessible(TypeMirror type, String packageName) {
+		if (type.getKind() != TypeKind.DECLARED)
+			return true;
+		return isAccessible((TypeElement) ((DeclaredType) type).asElement(), packageName);
+	}
+
+	private String classExpression(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED)
+			return processingEnv.getTypeUtils().erasure(type) + ".class";
+		return classExpression((TypeElement) ((DeclaredType) type).asElement());
+	}
+
+	// a class loaded by name : the schema compiles whatever becomes of the class
+	private String classExpression(TypeElement type) {
+		return "type(" + processingEnv.getElementUtils().getConstantExpression(processingEnv.getElementUtils().getBinaryName(type).toString()) + ")";
+	}
+
+	private void writeServices() {
+		try {
+			FileObject services = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + SCHEMA);
+			try (Writer out = services.openWriter()) {
+				for (String schema : schemas)
+					out.write(schema + "\n");
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Unable to write the services of " + SCHEMA + " : " + e);
+		}
+	}
+}